@@ -15,6 +15,7 @@ import commons.access.Filesystem;
 import commons.access.Project;
 import commons.object.string.StringUtility;
 import commons.time.DateTimeUtility;
+import main.util.BackupScheduler;
 import main.util.BackupUtil;
 import main.util.Drive;
 import main.util.PropertyUtil;
@@ -48,40 +49,44 @@ public class BackupHelper {
                 " |____/ \\__,_|\\___|_|\\_\\\\__,_| .__/  |_| |_|\\___|_| .__/ \\___|_|   \n" +
                 "                             |_|                  |_|              ");
         
-        if (BackupUtil.EXTERNAL_BACKUP_TYPE != BackupUtil.ExternalBackupType.PRESERVE) {
-            syncExternalBackup();
-        }
+        final BackupScheduler scheduler = new BackupScheduler();
+        
+        final BackupScheduler.Job preSync = (BackupUtil.EXTERNAL_BACKUP_TYPE != BackupUtil.ExternalBackupType.PRESERVE) ?
+                                            scheduler.add("Sync External Backup (Before)", BackupHelper::syncExternalBackup, Drive.BACKUP, Drive.EXTERNAL_BACKUP) : null;
         
-        backupDocuments();
+        scheduler.add("Documents", BackupHelper::backupDocuments, Drive.STORAGE, Drive.BACKUP).after(preSync).staging();
         
-        backupSpecimens();
+        scheduler.add("Specimens", BackupHelper::backupSpecimens, Drive.STORAGE, Drive.BACKUP).after(preSync);
         
-        backupCoding();
-        backupMaven();
+        scheduler.add("Coding", BackupHelper::backupCoding, Drive.CODING, Drive.STORAGE, Drive.BACKUP).after(preSync);
+        scheduler.add("Maven", BackupHelper::backupMaven, Drive.BOOT, Drive.STORAGE, Drive.BACKUP).after(preSync);
         
-        backupBackblaze();
-        backupRuneScape();
-        backupStableDiffusion();
+        scheduler.add("Backblaze", BackupHelper::backupBackblaze, Drive.BOOT, Drive.STORAGE, Drive.BACKUP).after(preSync).staging();
+        scheduler.add("RuneScape", BackupHelper::backupRuneScape, Drive.GAMES, Drive.STORAGE, Drive.BACKUP).after(preSync).staging();
+        scheduler.add("Stable Diffusion", BackupHelper::backupStableDiffusion, Drive.GAMES, Drive.STORAGE, Drive.BACKUP).after(preSync);
         
-        backupData();
-        backupRegistry();
-        backupManifest();
-        backupRecoveryDrive();
+        scheduler.add("Data", BackupHelper::backupData, Drive.BOOT, Drive.STORAGE, Drive.BACKUP).after(preSync).staging();
+        scheduler.add("Registry", BackupHelper::backupRegistry, Drive.STORAGE, Drive.BACKUP).after(preSync).staging();
+        scheduler.add("Manifest", BackupHelper::backupManifest, Drive.BOOT, Drive.GAMES, Drive.STORAGE, Drive.CODING, Drive.VIRTUAL_MACHINES, Drive.WORK, Drive.BACKUP, Drive.EXTERNAL_BACKUP).after(preSync).staging();
+        scheduler.add("Recovery Drive", BackupHelper::backupRecoveryDrive, Drive.RECOVERY, Drive.STORAGE, Drive.BACKUP).after(preSync).staging();
         
-        backupSavedData();
-        backupSavedSettings();
-        backupUtilities();
-        backupTweaks();
+        scheduler.add("Saved Data", BackupHelper::backupSavedData, Drive.STORAGE, Drive.BACKUP).after(preSync);
+        scheduler.add("Saved Settings", BackupHelper::backupSavedSettings, Drive.STORAGE, Drive.BACKUP).after(preSync);
+        scheduler.add("Utilities", BackupHelper::backupUtilities, Drive.STORAGE, Drive.BACKUP).after(preSync);
+        scheduler.add("Tweaks", BackupHelper::backupTweaks, Drive.CODING, Drive.STORAGE, Drive.BACKUP).after(preSync);
         
-        backupDevices();
-        backupWorkPC();
+        scheduler.add("Devices", BackupHelper::backupDevices, Drive.VIRTUAL_MACHINES, Drive.STORAGE, Drive.BACKUP).after(preSync);
+        scheduler.add("Work PC", BackupHelper::backupWorkPC, Drive.VIRTUAL_MACHINES, Drive.WORK, Drive.BACKUP).after(preSync).staging();
         
-        backupWindows();
+        scheduler.add("Windows", BackupHelper::backupWindows, Drive.BOOT, Drive.BACKUP).after(preSync);
         
         if (BackupUtil.EXTERNAL_BACKUP_TYPE != BackupUtil.ExternalBackupType.DUPLICATE) {
-            syncExternalBackup();
+            final List<BackupScheduler.Job> backups = List.copyOf(scheduler.getJobs());
+            scheduler.add("Sync External Backup", BackupHelper::syncExternalBackup, Drive.BACKUP, Drive.EXTERNAL_BACKUP).after(backups);
         }
         
+        scheduler.run();
+        
         final long endTime = System.currentTimeMillis();
         logger.info("\n\n\nBackup Complete in " + DateTimeUtility.durationToDurationString(
                 (endTime - startTime), true, false, true));
@@ -104,7 +109,7 @@ public class BackupHelper {
         
         if (!BackupUtil.recentBackupExists(localBackupDir, backupName) && BackupUtil.modifiedSinceLastBackup(localDir, localBackupDir, backupName)) {
             
-            final File documentsCache = new File(Filesystem.getTemporaryDirectory(), backupName);
+            final File documentsCache = new File(BackupUtil.getTmpDir(), backupName);
             BackupUtil.makeBackupCache(documentsCache);
             
             BackupUtil.addToBackupCache(documentsCache, new File(localDir, "DnD"), List.of("Campaigns", "Tools"));
@@ -216,7 +221,7 @@ public class BackupHelper {
         
         if (!BackupUtil.recentBackupExists(localBackupDir, backupName)) {
             
-            final File backblazeCache = new File(Filesystem.getTemporaryDirectory(), backupName);
+            final File backblazeCache = new File(BackupUtil.getTmpDir(), backupName);
             BackupUtil.makeBackupCache(backblazeCache);
             
             BackupUtil.addToBackupCache(backblazeCache, localDir, true);
@@ -243,7 +248,7 @@ public class BackupHelper {
         
         if (!BackupUtil.recentBackupExists(localBackupDir, backupName)) {
             
-            final File runeScapeCache = new File(Filesystem.getTemporaryDirectory(), backupName);
+            final File runeScapeCache = new File(BackupUtil.getTmpDir(), backupName);
             BackupUtil.makeBackupCache(runeScapeCache);
             
             BackupUtil.addToBackupCache(runeScapeCache, localDir, true);
@@ -304,7 +309,7 @@ public class BackupHelper {
             
             final File programFilesLocalDir = new File(Drive.BOOT.drive, programFilesName);
             
-            final File programFilesCache = new File(Filesystem.getTemporaryDirectory(), programFilesName);
+            final File programFilesCache = new File(BackupUtil.getTmpDir(), programFilesName);
             BackupUtil.makeBackupCache(programFilesCache);
             
             BackupUtil.addToBackupCache(programFilesCache, programFilesLocalDir, true, List.of("Bitdefender", "Bitdefender Agent", "Carbonite", "Google", "Windows Defender", "Windows Defender Advanced Threat Protection", "Windows Security", "WindowsApps"), true);
@@ -324,7 +329,7 @@ public class BackupHelper {
             
             final File programFilesX86LocalDir = new File(Drive.BOOT.drive, programFilesX86Name);
             
-            final File programFilesX86Cache = new File(Filesystem.getTemporaryDirectory(), programFilesX86Name);
+            final File programFilesX86Cache = new File(BackupUtil.getTmpDir(), programFilesX86Name);
             BackupUtil.makeBackupCache(programFilesX86Cache);
             
             BackupUtil.addToBackupCache(programFilesX86Cache, programFilesX86LocalDir, true, List.of("Backblaze", "Carbonite", "Google", "Windows Defender"), true);
@@ -345,7 +350,7 @@ public class BackupHelper {
             
             final File programDataLocalDir = new File(Drive.BOOT.drive, programDataName);
             
-            final File programDataCache = new File(Filesystem.getTemporaryDirectory(), programDataName);
+            final File programDataCache = new File(BackupUtil.getTmpDir(), programDataName);
             BackupUtil.makeBackupCache(programDataCache);
             
             BackupUtil.addToBackupCache(programDataCache, programDataLocalDir, true, List.of("Application Data", "Carbonite", "Desktop", "Documents", "ntuser.pol", "Package Cache", "Packages", "Start Menu", "Templates", "USOPrivate", "USOShared"), true);
@@ -365,7 +370,7 @@ public class BackupHelper {
             
             final File appDataLocalDir = new File(Drive.BOOT.drive, Filesystem.generatePath("Users", userName, appDataName));
             
-            final File appDataCache = new File(Filesystem.getTemporaryDirectory(), appDataName);
+            final File appDataCache = new File(BackupUtil.getTmpDir(), appDataName);
             BackupUtil.makeBackupCache(appDataCache);
             
             BackupUtil.addToBackupCache(appDataCache, new File(appDataLocalDir, "Local"), List.of("Comms", "Package Cache", "Packages", "PackageStaging", "Temp"), true);
@@ -387,7 +392,7 @@ public class BackupHelper {
             
             final File userDataLocalDir = new File(Drive.BOOT.drive, Filesystem.generatePath("Users", userName));
             
-            final File userDataCache = new File(Filesystem.getTemporaryDirectory(), userDataName);
+            final File userDataCache = new File(BackupUtil.getTmpDir(), userDataName);
             BackupUtil.makeBackupCache(userDataCache);
             
             BackupUtil.addToBackupCache(userDataCache, userDataLocalDir, true, List.of(".m2", ".runelite", "AppData", "Downloads"), true);
@@ -419,7 +424,7 @@ public class BackupHelper {
         
         if (!BackupUtil.recentBackupExists(localBackupDir)) {
             
-            final File registryCacheEntry = new File(Filesystem.getTemporaryDirectory(), BackupUtil.Stamper.stamp(".reg"));
+            final File registryCacheEntry = new File(BackupUtil.getTmpDir(), BackupUtil.Stamper.stamp(".reg"));
             BackupUtil.makeBackupCache(registryCacheEntry.getParentFile());
             
             WindowsBackupTools.exportRegistry(registryCacheEntry);
@@ -446,7 +451,7 @@ public class BackupHelper {
         
         if (!BackupUtil.recentBackupExists(localBackupDir)) {
             
-            final File manifestCache = new File(Filesystem.getTemporaryDirectory(), backupName);
+            final File manifestCache = new File(BackupUtil.getTmpDir(), backupName);
             BackupUtil.makeBackupCache(manifestCache);
             
             for (Drive drive : List.of(Drive.BOOT, Drive.GAMES, Drive.STORAGE, Drive.CODING, Drive.VIRTUAL_MACHINES, Drive.WORK, Drive.BACKUP, Drive.EXTERNAL_BACKUP)) {
@@ -483,7 +488,7 @@ public class BackupHelper {
         
         if (!BackupUtil.recentBackupExists(localBackupDir, backupName)) {
             
-            final File recoveryManifestCache = new File(Filesystem.getTemporaryDirectory(), (backupName + "-manifest"));
+            final File recoveryManifestCache = new File(BackupUtil.getTmpDir(), (backupName + "-manifest"));
             BackupUtil.makeBackupCache(recoveryManifestCache);
             
             final File recoveryManifestEntry = new File(recoveryManifestCache, BackupUtil.Stamper.stamp("manifest.txt"));
@@ -492,7 +497,7 @@ public class BackupHelper {
             final File recoveryManifestDir = new File(localDir, Filesystem.generatePath(".index", "manifest"));
             BackupUtil.commitBackup(recoveryManifestDir, recoveryManifestEntry);
             
-            final File recoveryCache = new File(Filesystem.getTemporaryDirectory(), backupName);
+            final File recoveryCache = new File(BackupUtil.getTmpDir(), backupName);
             BackupUtil.makeBackupCache(recoveryCache);
             
             BackupUtil.addToBackupCache(recoveryCache, localDir, true, List.of("Videos"), true);
@@ -606,7 +611,7 @@ public class BackupHelper {
         
         if (!BackupUtil.recentBackupExists(localBackupDir, name)) {
             
-            final File workPcCache = new File(Filesystem.getTemporaryDirectory(), name);
+            final File workPcCache = new File(BackupUtil.getTmpDir(), name);
             BackupUtil.makeBackupCache(workPcCache);
             
             BackupUtil.addToBackupCache(workPcCache, localDir, true, List.of(localBackupDir.getName()), true);
@@ -0,0 +1,128 @@
+/*
+ * File:    ExclusionMatcherBenchmark.java
+ * Package: main.benchmark
+ * Author:  Zachary Gill
+ */
+
+package main.benchmark;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import main.util.ExclusionMatcher;
+
+public class ExclusionMatcherBenchmark {
+    
+    //Constants
+    
+    private static final String ROOT = "C:/Users/Zack/Documents";
+    
+    private static final int DIR_FANOUT = 10;
+    
+    private static final int DIR_DEPTH = 3;
+    
+    private static final int FILES_PER_DIR = 1000;
+    
+    private static final List<String> EXCLUSIONS = List.of(
+            "$RECYCLE.BIN", "$Recycle.Bin", "System Volume Information", "desktop.ini", "Thumbs.db", ".bzvol",
+            "node_modules", ".git", "target/classes", "file0999.dat", "Backup/Old");
+    
+    private static final List<String> GLOB_EXCLUSIONS = List.of("*.tmp", "cache-?", "dir2/dir?");
+    
+    private static final int MEASURE_ROUNDS = 3;
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) {
+        final ExclusionMatcher matcher = new ExclusionMatcher(EXCLUSIONS);
+        
+        final long[] legacy = measure("regex per exclusion", 1, () -> walk(ROOT, 0, ExclusionMatcherBenchmark::legacyIsExcluded, false));
+        final long[] compiled = measure("compiled", MEASURE_ROUNDS, () -> walk(ROOT, 0, matcher::isExcluded, false));
+        final long[] pruned = measure("compiled, pruned", MEASURE_ROUNDS, () -> walk(ROOT, 0, matcher::isExcludedEntry, true));
+        if ((legacy[1] != compiled[1]) || (legacy[1] != pruned[1])) {
+            throw new IllegalStateException("Included path counts differ: " + legacy[1] + ", " + compiled[1] + ", " + pruned[1]);
+        }
+        
+        final ExclusionMatcher globMatcher = new ExclusionMatcher(
+                Stream.concat(EXCLUSIONS.stream(), GLOB_EXCLUSIONS.stream()).collect(Collectors.toList()));
+        measure("compiled with globs, pruned", MEASURE_ROUNDS, () -> walk(ROOT, 0, globMatcher::isExcludedEntry, true));
+    }
+    
+    
+    //Static Methods
+    
+    private static long[] measure(String name, int rounds, Supplier<long[]> walker) {
+        long[] result = walker.get();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            final long start = System.nanoTime();
+            result = walker.get();
+            best = Math.min(best, (System.nanoTime() - start));
+        }
+        System.out.println(String.format("%-28s %10.2f ms %9d checked %9d included", name, (best / 1000000.0), result[0], result[1]));
+        return result;
+    }
+    
+    /**
+     * Walks a synthetic tree of about 1.1 million paths, returning the number of paths checked and the number included.
+     */
+    private static long[] walk(String dir, int depth, Predicate<String> excluded, boolean prune) {
+        final long[] counts = new long[2];
+        for (int i = 0; i < FILES_PER_DIR; i++) {
+            final String file = dir + '/' + fileName(depth, i);
+            counts[0]++;
+            if (!excluded.test(file)) {
+                counts[1]++;
+            }
+        }
+        if (depth < DIR_DEPTH) {
+            for (int i = 0; i < DIR_FANOUT; i++) {
+                final String subDir = dir + '/' + dirName(depth, i);
+                counts[0]++;
+                final boolean subDirExcluded = excluded.test(subDir);
+                if (!subDirExcluded) {
+                    counts[1]++;
+                }
+                
+                //without pruning every path under an excluded directory is still listed and checked, as the old scan did
+                if (!subDirExcluded || !prune) {
+                    final long[] subCounts = walk(subDir, (depth + 1), excluded, prune);
+                    counts[0] += subCounts[0];
+                    counts[1] += subCounts[1];
+                }
+            }
+        }
+        return counts;
+    }
+    
+    private static String dirName(int depth, int index) {
+        switch (index) {
+            case 3:
+                return "node_modules";
+            case 5:
+                return (depth == 0) ? ".git" : "Target";
+            case 6:
+                return "classes";
+            case 7:
+                return "cache-" + depth;
+            default:
+                return "dir" + index;
+        }
+    }
+    
+    private static String fileName(int depth, int index) {
+        return String.format("file%04d.%s", index, (((index % 50) == 0) ? "tmp" : ((depth % 2) == 0) ? "dat" : "txt"));
+    }
+    
+    private static boolean legacyIsExcluded(String path) {
+        return EXCLUSIONS.stream()
+                .anyMatch(e -> path.replace("\\", "/")
+                        .matches("(?i)^(?:.*/)?" + Pattern.quote(e) + "(?:/.*)?$"));
+    }
+    
+}
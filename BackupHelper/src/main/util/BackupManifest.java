@@ -0,0 +1,376 @@
+/*
+ * File:    BackupManifest.java
+ * Package: main.util
+ * Author:  Zachary Gill
+ */
+
+package main.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import commons.access.Project;
+import commons.object.string.StringUtility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class BackupManifest {
+    
+    //Logger
+    
+    private static final Logger logger = LoggerFactory.getLogger(BackupManifest.class);
+    
+    
+    //Constants
+    
+    public static final File MANIFEST_DIR = new File(Project.DATA_DIR, "manifest");
+    
+    private static final int MAGIC = 0x424B4D46;
+    
+    private static final int VERSION = 1;
+    
+    
+    //Fields
+    
+    private final File root;
+    
+    private final long backupDate;
+    
+    private final Directory tree;
+    
+    private final boolean complete;
+    
+    private final long lastModified;
+    
+    private final Path newerFile;
+    
+    private boolean dirty = false;
+    
+    
+    //Constructors
+    
+    private BackupManifest(File root, long backupDate, Directory tree, boolean complete, long lastModified, Path newerFile) {
+        this.root = root;
+        this.backupDate = backupDate;
+        this.tree = tree;
+        this.complete = complete;
+        this.lastModified = lastModified;
+        this.newerFile = newerFile;
+    }
+    
+    
+    //Methods
+    
+    /**
+     * Finds the first file or directory that differs from the manifest, or null if the tree is unchanged.
+     */
+    public Path findChange() {
+        return findChange(tree, root.toPath());
+    }
+    
+    private Path findChange(Directory dir, Path path) {
+        final BasicFileAttributes dirAttributes = attributes(path);
+        if ((dirAttributes == null) || !dirAttributes.isDirectory()) {
+            return path;
+        }
+        
+        //file modifications do not touch the directory, but additions, removals, and renames do
+        if (dirAttributes.lastModifiedTime().toMillis() != dir.modified) {
+            final Directory listing = list(path, dirAttributes);
+            if (listing == null) {
+                if (dir == tree) {
+                    return path;
+                }
+                //a subdirectory that cannot be listed is skipped, the same as when the manifest was built
+                dir.modified = dirAttributes.lastModifiedTime().toMillis();
+                dirty = true;
+                return null;
+            }
+            if (!Arrays.equals(listing.fileNames, dir.fileNames) || !Arrays.equals(listing.dirNames(), dir.dirNames())) {
+                return path;
+            }
+            dir.modified = listing.modified;
+            dirty = true;
+        }
+        
+        for (int i = 0; i < dir.fileNames.length; i++) {
+            final Path file = path.resolve(dir.fileNames[i]);
+            final BasicFileAttributes attributes = attributes(file);
+            if ((attributes == null) || attributes.isDirectory() ||
+                    (attributes.size() != dir.fileSizes[i]) || (attributes.lastModifiedTime().toMillis() != dir.fileModified[i])) {
+                return file;
+            }
+        }
+        for (Directory subDir : dir.dirs) {
+            final Path change = findChange(subDir, path.resolve(subDir.name));
+            if (change != null) {
+                return change;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Saves the manifest to a file.
+     */
+    public boolean save(File manifestFile) {
+        if (!complete) {
+            return false;
+        }
+        
+        final File tmpFile = new File(manifestFile.getParentFile(), (manifestFile.getName() + ".tmp"));
+        try {
+            Files.createDirectories(manifestFile.getAbsoluteFile().getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(root.getAbsolutePath());
+                out.writeLong(backupDate);
+                out.writeLong(lastModified);
+                write(out, tree);
+            }
+            Files.move(tmpFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+            return true;
+            
+        } catch (IOException e) {
+            logger.warn(BackupUtil.ERROR + StringUtility.format("Failed to save manifest: {}", BackupUtil.Log.logFile(manifestFile)));
+            tmpFile.delete();
+            return false;
+        }
+    }
+    
+    
+    //Getters
+    
+    public File getRoot() {
+        return root;
+    }
+    
+    public long getBackupDate() {
+        return backupDate;
+    }
+    
+    public boolean isComplete() {
+        return complete;
+    }
+    
+    public long getLastModified() {
+        return lastModified;
+    }
+    
+    public Path getNewerFile() {
+        return newerFile;
+    }
+    
+    public boolean isDirty() {
+        return dirty;
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Walks a directory tree, stopping at the first file modified after the backup date.
+     */
+    public static BackupManifest build(File root, long backupDate) {
+        final long[] lastModified = new long[] {-1L};
+        final Path[] newerFile = new Path[] {null};
+        final Directory tree = build(root.toPath(), backupDate, lastModified, newerFile);
+        return new BackupManifest(root, backupDate, tree, ((tree != null) && (newerFile[0] == null)), lastModified[0], newerFile[0]);
+    }
+    
+    private static Directory build(Path path, long backupDate, long[] lastModified, Path[] newerFile) {
+        final BasicFileAttributes dirAttributes = attributes(path);
+        if ((dirAttributes == null) || !dirAttributes.isDirectory()) {
+            return null;
+        }
+        final Directory dir = list(path, dirAttributes);
+        if (dir == null) {
+            return null;
+        }
+        
+        for (int i = 0; i < dir.fileNames.length; i++) {
+            lastModified[0] = Math.max(lastModified[0], dir.fileModified[i]);
+            if (dir.fileModified[i] > backupDate) {
+                newerFile[0] = path.resolve(dir.fileNames[i]);
+                return dir;
+            }
+        }
+        for (int i = 0; i < dir.dirs.length; i++) {
+            final Directory subDir = build(path.resolve(dir.dirs[i].name), backupDate, lastModified, newerFile);
+            if (subDir != null) {
+                dir.dirs[i] = subDir;
+            }
+            if (newerFile[0] != null) {
+                return dir;
+            }
+        }
+        return dir;
+    }
+    
+    /**
+     * Loads a manifest from a file, or returns null if it does not exist or does not describe the directory.
+     */
+    public static BackupManifest load(File manifestFile, File root) {
+        if (!manifestFile.exists()) {
+            return null;
+        }
+        
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile.toPath())))) {
+            if ((in.readInt() != MAGIC) || (in.readInt() != VERSION) || !in.readUTF().equals(root.getAbsolutePath())) {
+                return null;
+            }
+            final long backupDate = in.readLong();
+            final long lastModified = in.readLong();
+            return new BackupManifest(root, backupDate, read(in), true, lastModified, null);
+            
+        } catch (IOException e) {
+            logger.warn(BackupUtil.ERROR + StringUtility.format("Failed to load manifest: {}", BackupUtil.Log.logFile(manifestFile)));
+            return null;
+        }
+    }
+    
+    public static File manifestFile(File root, String baseName) {
+        final String name = StringUtility.isNullOrBlank(baseName) ? root.getName() : baseName;
+        return new File(MANIFEST_DIR, (name + '-' + Integer.toHexString(root.getAbsolutePath().hashCode()) + ".manifest"));
+    }
+    
+    private static Directory list(Path path, BasicFileAttributes dirAttributes) {
+        final List<Path> files = new ArrayList<>();
+        final List<BasicFileAttributes> fileAttributes = new ArrayList<>();
+        final Map<String, Long> dirModified = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+            for (Path entry : stream) {
+                final BasicFileAttributes attributes = attributes(entry);
+                if (attributes == null) {
+                    continue;
+                }
+                if (attributes.isDirectory()) {
+                    dirModified.put(entry.getFileName().toString(), attributes.lastModifiedTime().toMillis());
+                } else {
+                    files.add(entry);
+                    fileAttributes.add(attributes);
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        
+        final Integer[] order = new Integer[files.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(i -> files.get(i).getFileName().toString()));
+        
+        final Directory dir = new Directory(path.getFileName() == null ? "" : path.getFileName().toString(),
+                dirAttributes.lastModifiedTime().toMillis(), files.size(), dirModified.size());
+        for (int i = 0; i < order.length; i++) {
+            dir.fileNames[i] = files.get(order[i]).getFileName().toString();
+            dir.fileSizes[i] = fileAttributes.get(order[i]).size();
+            dir.fileModified[i] = fileAttributes.get(order[i]).lastModifiedTime().toMillis();
+        }
+        
+        //subdirectories start as empty leaves with their real modification time, so one that cannot be listed later is skipped rather than reported as changed
+        int dirIndex = 0;
+        for (Map.Entry<String, Long> subDir : dirModified.entrySet()) {
+            dir.dirs[dirIndex++] = new Directory(subDir.getKey(), subDir.getValue(), 0, 0);
+        }
+        return dir;
+    }
+    
+    private static BasicFileAttributes attributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    private static void write(DataOutputStream out, Directory dir) throws IOException {
+        out.writeUTF(dir.name);
+        out.writeLong(dir.modified);
+        out.writeInt(dir.fileNames.length);
+        for (int i = 0; i < dir.fileNames.length; i++) {
+            out.writeUTF(dir.fileNames[i]);
+            out.writeLong(dir.fileSizes[i]);
+            out.writeLong(dir.fileModified[i]);
+        }
+        out.writeInt(dir.dirs.length);
+        for (Directory subDir : dir.dirs) {
+            write(out, subDir);
+        }
+    }
+    
+    private static Directory read(DataInputStream in) throws IOException {
+        final String name = in.readUTF();
+        final long modified = in.readLong();
+        final int fileCount = in.readInt();
+        final Directory dir = new Directory(name, modified, fileCount, 0);
+        for (int i = 0; i < fileCount; i++) {
+            dir.fileNames[i] = in.readUTF();
+            dir.fileSizes[i] = in.readLong();
+            dir.fileModified[i] = in.readLong();
+        }
+        dir.dirs = new Directory[in.readInt()];
+        for (int i = 0; i < dir.dirs.length; i++) {
+            dir.dirs[i] = read(in);
+        }
+        return dir;
+    }
+    
+    
+    //Inner Classes
+    
+    private static final class Directory {
+        
+        //Fields
+        
+        private final String name;
+        
+        private long modified;
+        
+        private final String[] fileNames;
+        
+        private final long[] fileSizes;
+        
+        private final long[] fileModified;
+        
+        private Directory[] dirs;
+        
+        
+        //Constructors
+        
+        private Directory(String name, long modified, int fileCount, int dirCount) {
+            this.name = name;
+            this.modified = modified;
+            this.fileNames = new String[fileCount];
+            this.fileSizes = new long[fileCount];
+            this.fileModified = new long[fileCount];
+            this.dirs = new Directory[dirCount];
+        }
+        
+        
+        //Methods
+        
+        private String[] dirNames() {
+            return Arrays.stream(dirs).map(e -> e.name).toArray(String[]::new);
+        }
+        
+    }
+    
+}
@@ -0,0 +1,353 @@
+/*
+ * File:    BackupScheduler.java
+ * Package: main.util
+ * Author:  Zachary Gill
+ */
+
+package main.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import commons.access.Project;
+import commons.io.console.ProgressBar;
+import commons.object.string.StringUtility;
+import commons.time.DateTimeUtility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class BackupScheduler {
+    
+    //Logger
+    
+    private static final Logger logger = LoggerFactory.getLogger(BackupScheduler.class);
+    
+    
+    //Constants
+    
+    public static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    
+    public static final long RENDER_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    
+    private static final long JOB_PROGRESS = 1000L;
+    
+    public static final Drive STAGING_DRIVE = Drive.of(Project.TMP_DIR);
+    
+    private static final ThreadLocal<Job> CURRENT_JOB = new ThreadLocal<>();
+    
+    
+    //Fields
+    
+    private final Map<Drive, Integer> driveLimits = new EnumMap<>(Drive.class);
+    
+    private final Map<Drive, Integer> driveUsage = new EnumMap<>(Drive.class);
+    
+    private final List<Job> jobs = new ArrayList<>();
+    
+    
+    //Constructors
+    
+    public BackupScheduler() {
+        for (Drive drive : Drive.values()) {
+            driveLimits.put(drive, drive.concurrency);
+            driveUsage.put(drive, 0);
+        }
+    }
+    
+    
+    //Methods
+    
+    public Job add(String name, Runnable task, Drive... drives) {
+        final Job job = new Job(name, task, drives);
+        jobs.add(job);
+        return job;
+    }
+    
+    public void setDriveLimit(Drive drive, int limit) {
+        driveLimits.put(drive, Math.max(1, limit));
+    }
+    
+    public void run() {
+        final long startTime = System.currentTimeMillis();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final ProgressBar progressBar = new ProgressBar("Backup", Math.max(1L, (jobs.size() * JOB_PROGRESS)));
+        progressBar.setShowSpeed(false);
+        progressBar.setShowTimeRemaining(false);
+        progressBar.setShowRatio(false);
+        
+        try {
+            synchronized (this) {
+                long nextProgress = startTime + PROGRESS_INTERVAL;
+                while (jobs.stream().anyMatch(e -> (e.status != Status.COMPLETE) && (e.status != Status.FAILED))) {
+                    dispatch(executor);
+                    
+                    final long now = System.currentTimeMillis();
+                    if (now >= nextProgress) {
+                        logProgress(now);
+                        nextProgress = now + PROGRESS_INTERVAL;
+                    }
+                    progressBar.update(getProgress());
+                    try {
+                        wait(Math.max(1, Math.min(RENDER_INTERVAL, (nextProgress - now))));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+            if (jobs.stream().anyMatch(e -> (e.status == Status.FAILED))) {
+                progressBar.fail();
+            } else {
+                progressBar.complete();
+            }
+        }
+        
+        logSummary(System.currentTimeMillis() - startTime);
+    }
+    
+    private void dispatch(ExecutorService executor) {
+        
+        //drives wanted by an earlier waiting job are reserved for it, so jobs that use many drives are not starved
+        final Set<Drive> reserved = EnumSet.noneOf(Drive.class);
+        for (Job job : jobs) {
+            if ((job.status != Status.WAITING) || !job.dependencies.stream().allMatch(e -> (e.status == Status.COMPLETE) || (e.status == Status.FAILED))) {
+                continue;
+            }
+            
+            final boolean available = job.drives.stream()
+                    .noneMatch(e -> reserved.contains(e) || (driveUsage.get(e) >= driveLimits.get(e)));
+            if (!available) {
+                reserved.addAll(job.drives);
+                continue;
+            }
+            
+            job.drives.forEach(e -> driveUsage.merge(e, 1, Integer::sum));
+            job.status = Status.RUNNING;
+            job.startTime = System.currentTimeMillis();
+            logger.info(StringUtility.format("Starting: {} on: {}", job.name, job.drives));
+            executor.execute(() -> execute(job));
+        }
+    }
+    
+    private void execute(Job job) {
+        CURRENT_JOB.set(job);
+        BackupUtil.setJobTmpDir(new File(Project.TMP_DIR, job.name.replaceAll("[^A-Za-z0-9_-]", "_")));
+        boolean success = false;
+        try {
+            job.task.run();
+            success = true;
+        } catch (Exception e) {
+            logger.error(BackupUtil.ERROR + StringUtility.format("Job: {} failed", job.name), e);
+        } finally {
+            BackupUtil.clearTmpDir();
+            BackupUtil.setJobTmpDir(null);
+            CURRENT_JOB.remove();
+            
+            synchronized (this) {
+                job.endTime = System.currentTimeMillis();
+                job.status = success ? Status.COMPLETE : Status.FAILED;
+                job.drives.forEach(e -> driveUsage.merge(e, -1, Integer::sum));
+                notifyAll();
+            }
+        }
+    }
+    
+    /**
+     * Sums the progress of every job, counting a running job by the progress bar of its current step.
+     */
+    private long getProgress() {
+        long progress = 0L;
+        for (Job job : jobs) {
+            if ((job.status == Status.COMPLETE) || (job.status == Status.FAILED)) {
+                progress += JOB_PROGRESS;
+            } else if (job.status == Status.RUNNING) {
+                final ProgressBar jobProgressBar = job.progressBar;
+                if (jobProgressBar != null) {
+                    progress += Math.min((JOB_PROGRESS - 1), (long) (jobProgressBar.getRatio() * JOB_PROGRESS));
+                }
+            }
+        }
+        return progress;
+    }
+    
+    private void logProgress(long now) {
+        final long done = jobs.stream().filter(e -> (e.status == Status.COMPLETE) || (e.status == Status.FAILED)).count();
+        final String running = jobs.stream().filter(e -> (e.status == Status.RUNNING))
+                .map(e -> e.name + " (" + DateTimeUtility.durationToDurationString((now - e.startTime), true, false, true) + ")")
+                .collect(Collectors.joining(", "));
+        logger.info(StringUtility.format("Progress: {}/{} jobs complete; running: [ {} ]", done, jobs.size(), running));
+    }
+    
+    private void logSummary(long duration) {
+        final int nameWidth = jobs.stream().mapToInt(e -> e.name.length()).max().orElse(0);
+        final StringBuilder summary = new StringBuilder("\n\n\n--- SUMMARY ---\n\n");
+        for (Job job : jobs) {
+            summary.append(StringUtility.padRight(job.name, nameWidth)).append(BackupUtil.INDENT)
+                    .append(StringUtility.padRight(job.status.name(), Status.COMPLETE.name().length())).append(BackupUtil.INDENT)
+                    .append(DateTimeUtility.durationToDurationString(job.getDuration(), true, false, true)).append(BackupUtil.INDENT)
+                    .append(formatBytes(job.getBytes())).append(BackupUtil.INDENT)
+                    .append(formatBytes((long) job.getThroughput())).append("/s\n");
+        }
+        summary.append("\nTotal: ").append(DateTimeUtility.durationToDurationString(duration, true, false, true));
+        logger.info(summary.toString());
+    }
+    
+    
+    //Getters
+    
+    public List<Job> getJobs() {
+        return Collections.unmodifiableList(jobs);
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Attaches a progress bar to the job running on the current thread.<br>
+     * The bar stops printing itself and is rendered as part of the scheduler's aggregate bar instead.
+     */
+    public static <T extends ProgressBar> T track(T progressBar) {
+        final Job job = CURRENT_JOB.get();
+        if ((job != null) && (progressBar != null)) {
+            progressBar.setAutoPrint(false);
+            job.progressBar = progressBar;
+        }
+        return progressBar;
+    }
+    
+    /**
+     * Records bytes written by the job running on the current thread.
+     */
+    public static void recordBytes(long bytes) {
+        final Job job = CURRENT_JOB.get();
+        if (job != null) {
+            job.bytes.addAndGet(bytes);
+        }
+    }
+    
+    private static String formatBytes(long bytes) {
+        final String[] units = {"B", "KB", "MB", "GB", "TB"};
+        double value = bytes;
+        int unit = 0;
+        while ((value >= 1024) && (unit < (units.length - 1))) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", value, units[unit]);
+    }
+    
+    
+    //Enums
+    
+    public enum Status {
+        WAITING,
+        RUNNING,
+        COMPLETE,
+        FAILED
+    }
+    
+    
+    //Inner Classes
+    
+    public static final class Job {
+        
+        //Fields
+        
+        private final String name;
+        
+        private final Runnable task;
+        
+        private final Set<Drive> drives;
+        
+        private final Set<Job> dependencies = new LinkedHashSet<>();
+        
+        private final AtomicLong bytes = new AtomicLong(0L);
+        
+        private volatile Status status = Status.WAITING;
+        
+        private volatile long startTime = 0L;
+        
+        private volatile long endTime = 0L;
+        
+        private volatile ProgressBar progressBar = null;
+        
+        
+        //Constructors
+        
+        private Job(String name, Runnable task, Drive... drives) {
+            this.name = name;
+            this.task = task;
+            this.drives = drives.length == 0 ? EnumSet.noneOf(Drive.class) : EnumSet.copyOf(Arrays.asList(drives));
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Prevents the job from starting until the other jobs have finished, whether or not they succeeded.
+         */
+        public Job after(Collection<Job> jobs) {
+            jobs.stream().filter(Objects::nonNull).filter(e -> (e != this)).forEach(dependencies::add);
+            return this;
+        }
+        
+        public Job after(Job... jobs) {
+            return after(Arrays.asList(jobs));
+        }
+        
+        /**
+         * Marks the job as staging its archives in the temporary directory, so the drive that holds it is counted against the job.
+         */
+        public Job staging() {
+            Optional.ofNullable(STAGING_DRIVE).ifPresent(drives::add);
+            return this;
+        }
+        
+        
+        //Getters
+        
+        public String getName() {
+            return name;
+        }
+        
+        public Set<Drive> getDrives() {
+            return Collections.unmodifiableSet(drives);
+        }
+        
+        public Status getStatus() {
+            return status;
+        }
+        
+        public long getDuration() {
+            return (startTime == 0L) ? 0L : (((endTime == 0L) ? System.currentTimeMillis() : endTime) - startTime);
+        }
+        
+        public long getBytes() {
+            return bytes.get();
+        }
+        
+        public double getThroughput() {
+            return (getDuration() == 0L) ? 0.0 : (getBytes() * 1000.0 / getDuration());
+        }
+        
+    }
+    
+}
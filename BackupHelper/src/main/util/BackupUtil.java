@@ -9,6 +9,7 @@ package main.util;
 import java.io.File;
 import java.io.FileFilter;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.time.temporal.ChronoUnit;
@@ -87,6 +88,8 @@ public final class BackupUtil {
             PropertyUtil.readPropertyList(EXCLUSION_FILE.getName()).stream()
     ).filter(e -> !StringUtility.isNullOrBlank(e)).map(String::toUpperCase).distinct().collect(Collectors.toList());
     
+    private static final ThreadLocal<File> JOB_TMP_DIR = new ThreadLocal<>();
+    
     static {
         if (!BLACKLIST_FILE.exists()) {
             Filesystem.writeLines(BLACKLIST_FILE, BLACKLIST);
@@ -362,19 +365,35 @@ public final class BackupUtil {
                     logger.debug(INDENT + StringUtility.format("Previous{} backup was made on: {}", Log.logBaseName(baseName), Log.logStamp(previousBackupDate)));
                 }
                 
-                final Date lastModified = Filesystem.getFilesRecursively(localDir).stream()
-                        .map(Filesystem::getLastModifiedTime)
-                        .filter(Objects::nonNull).distinct()
-                        .sorted(Comparator.reverseOrder())
-                        .limit(1).findFirst().orElse(null);
-                if (lastModified == null) {
+                final File manifestFile = BackupManifest.manifestFile(localDir, baseName);
+                final BackupManifest previousManifest = BackupManifest.load(manifestFile, localDir);
+                if ((previousManifest != null) && (previousManifest.getBackupDate() == previousBackupDate.getTime())) {
+                    final Path change = previousManifest.findChange();
+                    if (change != null) {
+                        logger.debug(INDENT + StringUtility.format("Found modification in: {} since last manifest", Log.logFile(change.toFile())));
+                        return true;
+                    }
+                    
+                    logger.debug(INDENT + StringUtility.format("No modifications in: {} since last manifest", Log.logFile(localDir)));
+                    if (previousManifest.isDirty()) {
+                        previousManifest.save(manifestFile);
+                    }
+                    return false;
+                }
+                
+                final BackupManifest manifest = BackupManifest.build(localDir, previousBackupDate.getTime());
+                if (manifest.getLastModified() < 0) {
                     logger.warn(ERROR + "Error determining last modification date in: {}; skipping backup", Log.logFile(localDir));
                     return false;
+                } else if (!manifest.isComplete()) {
+                    logger.debug(INDENT + StringUtility.format("Found modification in: {} made on: {}", Log.logFile(manifest.getNewerFile().toFile()), Log.logStamp(new Date(manifest.getLastModified()))));
+                    return true;
                 } else {
-                    logger.debug(INDENT + StringUtility.format("Last modification in: {} was made on: {}", Log.logFile(localDir), Log.logStamp(lastModified)));
+                    logger.debug(INDENT + StringUtility.format("Last modification in: {} was made on: {}", Log.logFile(localDir), Log.logStamp(new Date(manifest.getLastModified()))));
                 }
                 
-                return lastModified.after(previousBackupDate);
+                manifest.save(manifestFile);
+                return false;
             }
         }
         return false;
@@ -424,7 +443,23 @@ public final class BackupUtil {
     }
     
     public static boolean clearTmpDir() {
-        return Action.delete(Project.TMP_DIR, false) && Action.mkdir(Project.TMP_DIR, false);
+        final File tmpDir = getTmpDir();
+        return Action.delete(tmpDir, false) && Action.mkdir(tmpDir, false);
+    }
+    
+    /**
+     * Returns the temporary directory of the backup job running on the current thread.
+     */
+    public static File getTmpDir() {
+        return Optional.ofNullable(JOB_TMP_DIR.get()).orElse(Project.TMP_DIR);
+    }
+    
+    public static void setJobTmpDir(File tmpDir) {
+        if (tmpDir == null) {
+            JOB_TMP_DIR.remove();
+        } else {
+            JOB_TMP_DIR.set(tmpDir);
+        }
     }
     
     
@@ -451,6 +486,7 @@ public final class BackupUtil {
                         }
                         return false;
                     }
+                    BackupScheduler.recordBytes(file.isFile() ? file.length() : 0L);
                 }
             }
             return true;
@@ -531,6 +567,7 @@ public final class BackupUtil {
                         }
                         return false;
                     }
+                    BackupScheduler.recordBytes(target.isFile() ? target.length() : 0L);
                 }
             }
             return true;
@@ -650,6 +687,7 @@ public final class BackupUtil {
                 }
                 if (!TEST_MODE) {
                     RarUtil.archiveFile(file, openDir, target, slow, password, preserveLinks, deleteAfter);
+                    BackupScheduler.recordBytes(target.length());
                 }
             }
             return true;
@@ -7,20 +7,21 @@
 package main.util;
 
 import java.io.File;
+import java.util.Arrays;
 
 public enum Drive {
     
     //Values
     
-    BOOT,
-    GAMES,
-    STORAGE,
-    CODING,
-    VIRTUAL_MACHINES,
-    WORK,
-    BACKUP,
-    RECOVERY,
-    EXTERNAL_BACKUP;
+    BOOT(2),
+    GAMES(2),
+    STORAGE(2),
+    CODING(2),
+    VIRTUAL_MACHINES(2),
+    WORK(2),
+    BACKUP(2),
+    RECOVERY(1),
+    EXTERNAL_BACKUP(1);
     
     
     //Fields
@@ -29,12 +30,15 @@ public enum Drive {
     
     public final File drive;
     
+    public final int concurrency; //the maximum number of backup jobs that may use the drive at once
+    
     
     //Constructors
     
-    Drive() {
+    Drive(int concurrency) {
         this.driveLetter = (char) (ordinal() + 'C');
         this.drive = new File(driveLetter + ":/");
+        this.concurrency = concurrency;
     }
     
     
@@ -44,4 +48,17 @@ public enum Drive {
         return drive.exists();
     }
     
+    
+    //Static Methods
+    
+    public static Drive of(File file) {
+        final String path = file.getAbsolutePath();
+        if ((path.length() < 2) || (path.charAt(1) != ':')) {
+            return null;
+        }
+        return Arrays.stream(values())
+                .filter(e -> (e.driveLetter == Character.toUpperCase(path.charAt(0))))
+                .findFirst().orElse(null);
+    }
+    
 }
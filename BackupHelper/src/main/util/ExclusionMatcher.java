@@ -0,0 +1,178 @@
+/*
+ * File:    ExclusionMatcher.java
+ * Package: main.util
+ * Author:  Zachary Gill
+ */
+
+package main.util;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class ExclusionMatcher {
+    
+    //Fields
+    
+    private final Node literals = new Node();
+    
+    private final Pattern globs;
+    
+    private final Pattern trailingGlobs;
+    
+    
+    //Constructors
+    
+    /**
+     * Compiles a set of exclusions.<br>
+     * An exclusion is a sequence of whole path segments that may appear anywhere in a path, ignoring case.
+     * Literal exclusions are stored in a trie of segments, exclusions containing * or ? are combined into a single pattern.
+     */
+    public ExclusionMatcher(Collection<String> exclusions) {
+        final List<String> globExclusions = new ArrayList<>();
+        for (String exclusion : exclusions) {
+            if (exclusion == null) {
+                continue;
+            }
+            final String[] segments = segmentsOf(normalize(exclusion));
+            if (segments.length == 0) {
+                continue;
+            }
+            
+            if ((exclusion.indexOf('*') >= 0) || (exclusion.indexOf('?') >= 0)) {
+                globExclusions.add(String.join("/", segments));
+            } else {
+                //the trie is keyed from the last segment backwards, so a match can be found from the end of a path
+                Node node = literals;
+                for (int i = segments.length - 1; i >= 0; i--) {
+                    node = node.children.computeIfAbsent(segments[i], e -> new Node());
+                }
+                node.terminal = true;
+            }
+        }
+        
+        if (globExclusions.isEmpty()) {
+            this.globs = null;
+            this.trailingGlobs = null;
+        } else {
+            final String alternatives = globExclusions.stream().distinct()
+                    .map(ExclusionMatcher::globToRegex).collect(Collectors.joining("|", "(?:", ")"));
+            this.globs = Pattern.compile("(?:^|/)" + alternatives + "(?=/|$)");
+            this.trailingGlobs = Pattern.compile("(?:^|/)" + alternatives + "$");
+        }
+    }
+    
+    
+    //Methods
+    
+    /**
+     * Determines whether any part of a path is excluded.
+     */
+    public boolean isExcluded(String path) {
+        final String normalized = normalize(path);
+        for (int end = normalized.indexOf('/'); end >= 0; end = normalized.indexOf('/', (end + 1))) {
+            if (matchesLiteral(normalized, end)) {
+                return true;
+            }
+        }
+        return matchesLiteral(normalized, normalized.length()) ||
+                ((globs != null) && globs.matcher(normalized).find());
+    }
+    
+    public boolean isExcluded(File file) {
+        return isExcluded(file.getAbsolutePath());
+    }
+    
+    /**
+     * Determines whether an exclusion ends at the last segment of a path.<br>
+     * During a walk that prunes excluded directories the parents of a path have already been checked, so this is equivalent to isExcluded.
+     */
+    public boolean isExcludedEntry(String path) {
+        final String normalized = normalize(path);
+        return matchesLiteral(normalized, normalized.length()) ||
+                ((trailingGlobs != null) && trailingGlobs.matcher(normalized).find());
+    }
+    
+    public boolean isExcludedEntry(File file) {
+        return isExcludedEntry(file.getAbsolutePath());
+    }
+    
+    private boolean matchesLiteral(String path, int end) {
+        Node node = literals;
+        int segmentEnd = end;
+        while (segmentEnd > 0) {
+            final int segmentStart = path.lastIndexOf('/', (segmentEnd - 1)) + 1;
+            if (segmentStart < segmentEnd) {
+                node = node.children.get(path.substring(segmentStart, segmentEnd));
+                if (node == null) {
+                    return false;
+                }
+                if (node.terminal) {
+                    return true;
+                }
+            }
+            segmentEnd = segmentStart - 1;
+        }
+        return false;
+    }
+    
+    
+    //Static Methods
+    
+    private static String normalize(String path) {
+        return path.replace('\\', '/').toLowerCase(Locale.ROOT);
+    }
+    
+    private static String[] segmentsOf(String path) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if ((i == path.length()) || (path.charAt(i) == '/')) {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+    
+    private static String globToRegex(String glob) {
+        final StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            final char c = glob.charAt(i);
+            if ((c == '*') || (c == '?')) {
+                if (i > literalStart) {
+                    regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                }
+                regex.append((c == '*') ? "[^/]*" : "[^/]");
+                literalStart = i + 1;
+            }
+        }
+        if (glob.length() > literalStart) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return regex.toString();
+    }
+    
+    
+    //Inner Classes
+    
+    private static final class Node {
+        
+        //Fields
+        
+        private final Map<String, Node> children = new HashMap<>();
+        
+        private boolean terminal = false;
+        
+    }
+    
+}
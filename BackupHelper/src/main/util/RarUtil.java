@@ -478,6 +478,7 @@ public final class RarUtil {
         
         public ArchivingProgressBar(File source, File archive, File logFile, boolean preserveLinks) {
             super(archive.getName(), 1);
+            BackupScheduler.track(this);
             
             this.source = source;
             this.archive = archive;
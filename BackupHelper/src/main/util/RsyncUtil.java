@@ -83,6 +83,7 @@ public final class RsyncUtil {
         
         public RsyncProgressBar(File source, File target) {
             super(target.getName(), 0);
+            BackupScheduler.track(this);
         }
         
         
@@ -0,0 +1,397 @@
+/*
+ * File:    SyncPlan.java
+ * Package: main.util
+ * Author:  Zachary Gill
+ */
+
+package main.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import commons.io.console.ProgressBar;
+import commons.object.string.StringUtility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class SyncPlan {
+    
+    //Logger
+    
+    private static final Logger logger = LoggerFactory.getLogger(SyncPlan.class);
+    
+    
+    //Constants
+    
+    public static final int THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    
+    public static final long TRANSFER_THRESHOLD = 8L * 1024 * 1024;
+    
+    private static final long TRANSFER_CHUNK = 64L * 1024 * 1024;
+    
+    
+    //Fields
+    
+    private final File sourceDir;
+    
+    private final File targetDir;
+    
+    private final List<Action> deletions = new ArrayList<>();
+    
+    private final List<Action> directories = new ArrayList<>();
+    
+    private final List<Action> copies = new ArrayList<>();
+    
+    
+    //Constructors
+    
+    private SyncPlan(File sourceDir, File targetDir) {
+        this.sourceDir = sourceDir;
+        this.targetDir = targetDir;
+    }
+    
+    
+    //Methods
+    
+    /**
+     * Performs the deletions, then creates the directories, then performs the copies, on a bounded pool of workers.
+     */
+    public boolean execute(boolean showProgress) {
+        if (isEmpty()) {
+            return true;
+        }
+        
+        final long totalBytes = getCopyBytes();
+        final ProgressBar progressBar = showProgress ? BackupScheduler.track(new ProgressBar(targetDir.getName(), Math.max(1L, (totalBytes / 1024)), "KB")) : null;
+        final AtomicLong copied = new AtomicLong(0L);
+        
+        final ExecutorService executor = new ThreadPoolExecutor(THREADS, THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(THREADS * 4), new ThreadPoolExecutor.CallerRunsPolicy());
+        boolean success = false;
+        try {
+            success = runAll(executor, deletions, e -> BackupUtil.Action.delete(e.target.toFile()));
+            for (Action directory : directories) {
+                success &= BackupUtil.Action.mkdir(directory.target.toFile());
+            }
+            success &= runAll(executor, copies, e -> copy(e, copied, progressBar));
+            
+        } finally {
+            executor.shutdown();
+            BackupScheduler.recordBytes(copied.get());
+            if (progressBar != null) {
+                if (success) {
+                    progressBar.complete();
+                } else {
+                    progressBar.fail();
+                }
+            }
+        }
+        
+        return success;
+    }
+    
+    private boolean runAll(ExecutorService executor, List<Action> actions, Predicate<Action> task) {
+        final List<Future<Boolean>> results = new ArrayList<>(actions.size());
+        for (Action action : actions) {
+            results.add(CompletableFuture.supplyAsync(() -> task.test(action), executor));
+        }
+        
+        boolean success = true;
+        for (Future<Boolean> result : results) {
+            try {
+                success &= result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                logger.error(BackupUtil.INDENT + BackupUtil.ERROR + "Sync action failed", e.getCause());
+                success = false;
+            }
+        }
+        return success;
+    }
+    
+    private boolean copy(Action action, AtomicLong copied, ProgressBar progressBar) {
+        if (BackupUtil.SAFE_MODE && action.update) {
+            logger.warn(BackupUtil.ERROR + StringUtility.format("Already exists: {}; skipping in safe mode", BackupUtil.Log.logFile(action.target.toFile())));
+            return true;
+        }
+        logger.trace(BackupUtil.INDENT + StringUtility.format("{}: {}", (action.update ? "Updating" : "Copying"), BackupUtil.Log.logFile(action.source.toFile())));
+        if (BackupUtil.TEST_MODE) {
+            return true;
+        }
+        
+        try {
+            if (action.size < TRANSFER_THRESHOLD) {
+                Files.copy(action.source, action.target, StandardCopyOption.COPY_ATTRIBUTES, StandardCopyOption.REPLACE_EXISTING);
+                progress(action.size, copied, progressBar);
+                
+            } else {
+                //large files are handed to the kernel in chunks, so the progress moves while they copy
+                try (FileChannel in = FileChannel.open(action.source, StandardOpenOption.READ);
+                     FileChannel out = FileChannel.open(action.target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    long position = 0L;
+                    while (position < action.size) {
+                        final long transferred = in.transferTo(position, Math.min(TRANSFER_CHUNK, (action.size - position)), out);
+                        if (transferred <= 0) {
+                            throw new IOException("Unexpected end of file: " + action.source);
+                        }
+                        position += transferred;
+                        progress(transferred, copied, progressBar);
+                    }
+                }
+                Files.setLastModifiedTime(action.target, action.modified);
+            }
+            return true;
+            
+        } catch (IOException e) {
+            logger.error(BackupUtil.INDENT + BackupUtil.ERROR + StringUtility.format("Failed to {}: {}", (action.update ? "update" : "copy"), BackupUtil.Log.logFile(action.source.toFile())));
+            return false;
+        }
+    }
+    
+    private void progress(long bytes, AtomicLong copied, ProgressBar progressBar) {
+        final long total = copied.addAndGet(bytes);
+        if (progressBar != null) {
+            progressBar.update(total / 1024);
+        }
+    }
+    
+    public void print() {
+        for (Action action : deletions) {
+            System.out.println("    Removed:  " + action.target.toAbsolutePath());
+        }
+        for (Action action : directories) {
+            System.out.println("    Added:    " + action.target.toAbsolutePath());
+        }
+        for (Action action : copies) {
+            System.out.println((action.update ? "    Modified: " : "    Added:    ") + action.target.toAbsolutePath());
+        }
+    }
+    
+    public boolean isEmpty() {
+        return deletions.isEmpty() && directories.isEmpty() && copies.isEmpty();
+    }
+    
+    
+    //Getters
+    
+    public File getSourceDir() {
+        return sourceDir;
+    }
+    
+    public File getTargetDir() {
+        return targetDir;
+    }
+    
+    public List<Action> getDeletions() {
+        return Collections.unmodifiableList(deletions);
+    }
+    
+    public List<Action> getDirectories() {
+        return Collections.unmodifiableList(directories);
+    }
+    
+    public List<Action> getCopies() {
+        return Collections.unmodifiableList(copies);
+    }
+    
+    public long getCopyBytes() {
+        return copies.stream().mapToLong(e -> e.size).sum();
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Walks the source and target trees at the same time and compares their cached attributes to plan the sync.
+     */
+    public static SyncPlan build(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
+        final SyncPlan plan = new SyncPlan(sourceDir, targetDir);
+        final Path sourceRoot = sourceDir.getAbsoluteFile().toPath();
+        final Path targetRoot = targetDir.getAbsoluteFile().toPath();
+        
+        final ExclusionMatcher exclusions = SyncUtil.exclusionMatcher(fileExclusions);
+        final Set<Path> targetExcluded = new HashSet<>();
+        final CompletableFuture<Map<Path, BasicFileAttributes>> targetWalk =
+                CompletableFuture.supplyAsync(() -> walk(targetRoot, exclusions, targetExcluded));
+        final Map<Path, BasicFileAttributes> sourceEntries = walk(sourceRoot, exclusions, null);
+        final Map<Path, BasicFileAttributes> targetEntries = targetWalk.join();
+        
+        final Set<Path> replaced = new HashSet<>();
+        for (Map.Entry<Path, BasicFileAttributes> entry : sourceEntries.entrySet()) {
+            final Path source = sourceRoot.resolve(entry.getKey());
+            final Path target = targetRoot.resolve(entry.getKey());
+            if (!SyncUtil.isTarget(source.toFile(), baseName)) {
+                continue;
+            }
+            
+            final BasicFileAttributes sourceAttributes = entry.getValue();
+            final BasicFileAttributes targetAttributes = targetEntries.get(entry.getKey());
+            boolean exists = (targetAttributes != null);
+            if (exists && (sourceAttributes.isDirectory() != targetAttributes.isDirectory())) {
+                plan.deletions.add(new Action(null, target, targetAttributes, false));
+                replaced.add(entry.getKey());
+                exists = false;
+            }
+            
+            if (sourceAttributes.isDirectory()) {
+                if (!exists) {
+                    plan.directories.add(new Action(source, target, sourceAttributes, false));
+                }
+            } else if (!exists || (sourceAttributes.lastModifiedTime().compareTo(targetAttributes.lastModifiedTime()) > 0)) {
+                plan.copies.add(new Action(source, target, sourceAttributes, exists));
+            }
+        }
+        
+        final Set<Path> removed = new HashSet<>(replaced);
+        for (Map.Entry<Path, BasicFileAttributes> entry : targetEntries.entrySet()) {
+            if (removed.contains(entry.getKey()) || isWithin(entry.getKey(), removed)) {
+                continue;
+            }
+            final Path target = targetRoot.resolve(entry.getKey());
+            if (targetExcluded.contains(entry.getKey()) ||
+                    (SyncUtil.isTarget(target.toFile(), baseName) && !sourceEntries.containsKey(entry.getKey()))) {
+                plan.deletions.add(new Action(null, target, entry.getValue(), false));
+                removed.add(entry.getKey());
+            }
+        }
+        
+        return plan;
+    }
+    
+    private static Map<Path, BasicFileAttributes> walk(Path root, ExclusionMatcher exclusions, Set<Path> excluded) {
+        final Map<Path, BasicFileAttributes> entries = new TreeMap<>();
+        if (!Files.isDirectory(root)) {
+            return entries;
+        }
+        
+        //excluded directories are never descended into, so each entry only needs to be checked for an exclusion ending at its own name
+        final boolean rootExcluded = exclusions.isExcluded(root.toFile());
+        
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                    if (dir.equals(root)) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    return visit(dir, attributes) ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+                }
+                
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    visit(file, attributes);
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) {
+                    logger.warn(BackupUtil.ERROR + StringUtility.format("Could not read: {}", BackupUtil.Log.logFile(file.toFile())));
+                    return FileVisitResult.CONTINUE;
+                }
+                
+                //excluded source entries are left out of the walk, excluded target entries are kept so they can be removed
+                private boolean visit(Path path, BasicFileAttributes attributes) {
+                    final Path relative = root.relativize(path);
+                    if (rootExcluded || exclusions.isExcludedEntry(path.toFile())) {
+                        if (excluded != null) {
+                            entries.put(relative, attributes);
+                            excluded.add(relative);
+                        }
+                        return false;
+                    }
+                    entries.put(relative, attributes);
+                    return true;
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return entries;
+    }
+    
+    private static boolean isWithin(Path path, Set<Path> dirs) {
+        for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            if (dirs.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    
+    //Inner Classes
+    
+    public static final class Action {
+        
+        //Fields
+        
+        private final Path source;
+        
+        private final Path target;
+        
+        private final long size;
+        
+        private final FileTime modified;
+        
+        private final boolean update;
+        
+        
+        //Constructors
+        
+        private Action(Path source, Path target, BasicFileAttributes attributes, boolean update) {
+            this.source = source;
+            this.target = target;
+            this.size = attributes.isDirectory() ? 0L : attributes.size();
+            this.modified = attributes.lastModifiedTime();
+            this.update = update;
+        }
+        
+        
+        //Getters
+        
+        public Path getSource() {
+            return source;
+        }
+        
+        public Path getTarget() {
+            return target;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+        
+        public boolean isUpdate() {
+            return update;
+        }
+        
+    }
+    
+}
@@ -9,32 +9,18 @@ package main.util;
 import java.io.File;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import commons.access.Filesystem;
-import commons.io.console.ProgressBar;
-import commons.lambda.stream.mapper.Mappers;
 import commons.object.collection.ListUtility;
 import commons.object.string.StringUtility;
-import org.apache.commons.io.FileUtils;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public final class SyncUtil {
     
-    //Logger
-    
-    private static final Logger logger = LoggerFactory.getLogger(SyncUtil.class);
-    
-    
     //Constants
     
     private static final boolean USE_PROGRESS_BAR = false;
@@ -43,113 +29,24 @@ public final class SyncUtil {
     //Static Methods
     
     public static boolean sync(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        final boolean additions = performAdditions(sourceDir, targetDir, baseName, fileExclusions);
-        final boolean removals = performRemovals(sourceDir, targetDir, baseName, fileExclusions);
-        
-        return additions && removals;
-    }
-    
-    public static boolean syncMonitored(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        final List<Map.Entry<File, File>> actions = determineSyncPlan(sourceDir, targetDir, baseName, fileExclusions);
-        if (actions.isEmpty()) {
-            return true;
-        }
-        
-        final ProgressBar progressBar = USE_PROGRESS_BAR ? new ProgressBar(targetDir.getName(), actions.size()) : null;
-        
-        boolean success = false;
-        try {
-            success = actions.stream()
-                    .map(e -> e.getKey().exists() ?
-                            BackupUtil.Action.copy(e.getKey(), e.getValue()) :
-                            BackupUtil.Action.delete(e.getValue()))
-                    .map(Mappers.forEach(e -> Optional.ofNullable(progressBar).ifPresent(ProgressBar::addOne)))
-                    .reduce(true, Boolean::logicalAnd);
-            
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        } finally {
-            if (progressBar != null) {
-                if (success) {
-                    progressBar.complete();
-                } else {
-                    progressBar.fail();
-                }
-            }
-        }
-        
-        return success;
+        return determineSyncPlan(sourceDir, targetDir, baseName, fileExclusions).execute(USE_PROGRESS_BAR);
     }
     
-    public static List<Map.Entry<File, File>> determineSyncPlan(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        final List<Map.Entry<File, File>> additions = findAdditions(sourceDir, targetDir, baseName, fileExclusions);
-        final List<Map.Entry<File, File>> removals = findRemovals(sourceDir, targetDir, baseName, fileExclusions);
-        
-        return Stream.of(additions, removals)
-                .flatMap(Collection::stream).collect(Collectors.toList());
+    public static SyncPlan determineSyncPlan(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
+        return SyncPlan.build(sourceDir, targetDir, baseName, fileExclusions);
     }
     
     public static void printSyncPlan(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
         System.out.println("Source:     " + sourceDir.getAbsolutePath());
         System.out.println("Target:     " + targetDir.getAbsolutePath());
         if (!StringUtility.isNullOrBlank(baseName)) {
-            System.out.println("Base Name:  " + targetDir.getAbsolutePath());
+            System.out.println("Base Name:  " + baseName);
         }
         if (!ListUtility.isNullOrEmpty(fileExclusions)) {
             System.out.println("Exclusions: " + fileExclusions.stream().collect(Collectors.joining(", ", "[", "]")));
         }
         
-        final List<Map.Entry<File, File>> actions = determineSyncPlan(sourceDir, targetDir, baseName, fileExclusions);
-        for (Map.Entry<File, File> action : actions) {
-            if (action.getKey().exists()) {
-                if (action.getValue().exists()) {
-                    System.out.println("    Modified: " + action.getValue().getAbsolutePath());
-                } else {
-                    System.out.println("    Added:    " + action.getValue().getAbsolutePath());
-                }
-            } else {
-                System.out.println("    Removed:  " + action.getValue().getAbsolutePath());
-            }
-        }
-    }
-    
-    private static boolean performAdditions(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        return addStream(sourceDir, targetDir, baseName, fileExclusions)
-                .map(e -> BackupUtil.Action.copy(e.getKey(), e.getValue()))
-                .reduce(true, Boolean::logicalAnd);
-    }
-    
-    private static Stream<Map.Entry<File, File>> addStream(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        return Filesystem.getFilesAndDirsRecursively(sourceDir).stream()
-                .map(e -> Map.entry(e, mapToBackup(e, sourceDir, targetDir)))
-                .filter(e -> (isTarget(e.getKey(), baseName) && !isExcluded(e.getKey(), fileExclusions)))
-                .filter(e -> (!e.getValue().exists() || (e.getKey().isFile() && FileUtils.isFileNewer(e.getKey(), e.getValue()))));
-    }
-    
-    public static List<Map.Entry<File, File>> findAdditions(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        final Set<File> added = new HashSet<>();
-        return addStream(sourceDir, targetDir, baseName, fileExclusions)
-                .filter(e -> !added.add(e.getKey())).filter(e -> !e.getKey().isDirectory() || !added.addAll(Filesystem.getFilesAndDirsRecursively(e.getKey())))
-                .collect(Collectors.toList());
-    }
-    
-    private static boolean performRemovals(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        return removalStream(sourceDir, targetDir, baseName, fileExclusions)
-                .map(e -> BackupUtil.Action.delete(e.getValue()))
-                .reduce(true, Boolean::logicalAnd);
-    }
-    
-    private static Stream<Map.Entry<File, File>> removalStream(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        return Filesystem.getFilesAndDirsRecursively(targetDir).stream()
-                .map(e -> Map.entry(mapToSource(e, sourceDir, targetDir), e))
-                .filter(e -> ((isTarget(e.getValue(), baseName) && !e.getKey().exists()) || isExcluded(e.getValue(), fileExclusions)));
-    }
-    
-    public static List<Map.Entry<File, File>> findRemovals(File sourceDir, File targetDir, String baseName, List<String> fileExclusions) {
-        final Set<File> removed = new HashSet<>();
-        return removalStream(sourceDir, targetDir, baseName, fileExclusions)
-                .filter(e -> !removed.add(e.getKey())).filter(e -> !e.getKey().isDirectory() || !removed.addAll(Filesystem.getFilesAndDirsRecursively(e.getKey())))
-                .collect(Collectors.toList());
+        determineSyncPlan(sourceDir, targetDir, baseName, fileExclusions).print();
     }
     
     private static File mapFile(File file, Map.Entry<File, File> dirChange) {
@@ -173,10 +70,13 @@ public final class SyncUtil {
     }
     
     public static boolean isExcluded(File file, List<String> fileExclusions) {
-        return Stream.of(BackupUtil.BLACKLIST, Optional.ofNullable(fileExclusions).orElseGet(Collections::emptyList))
+        return exclusionMatcher(fileExclusions).isExcluded(file);
+    }
+    
+    public static ExclusionMatcher exclusionMatcher(List<String> fileExclusions) {
+        return new ExclusionMatcher(Stream.of(BackupUtil.BLACKLIST, Optional.ofNullable(fileExclusions).orElseGet(Collections::emptyList))
                 .filter(Objects::nonNull).flatMap(Collection::stream)
-                .anyMatch(e -> file.getAbsolutePath().replace("\\", "/")
-                        .matches("(?i)^(?:.*/)?" + Pattern.quote(e) + "(?:/.*)?$"));
+                .collect(Collectors.toList()));
     }
     
 }
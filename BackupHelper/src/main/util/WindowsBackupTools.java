@@ -134,6 +134,7 @@ public final class WindowsBackupTools {
         
         public SystemImageBackupProgressBar() {
             super("System Image Backup", 100);
+            BackupScheduler.track(this);
             
             setShowRatio(false);
             setShowSpeed(false);
@@ -127,6 +127,7 @@ public final class XCopyUtil {
         
         public XCopyProgressBar(File source, File target) {
             super(target.getName(), (source.isFile() ? 1 : Filesystem.getFilesRecursively(source).size()));
+            BackupScheduler.track(this);
         }
         
         
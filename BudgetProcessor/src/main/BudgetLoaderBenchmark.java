@@ -0,0 +1,200 @@
+/*
+ * File:    BudgetLoaderBenchmark.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Objects;
+
+import main.entity.base.Book;
+import main.entity.base.Column;
+import main.entity.base.Page;
+import main.entity.book.Budget;
+import main.entity.line.Category;
+import main.entity.page.Month;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+public class BudgetLoaderBenchmark {
+    
+    //Constants
+    
+    private static final int SHEETS = 50;
+    
+    private static final int ROWS = 100000;
+    
+    private static final int ROUNDS = 3;
+    
+    private static final List<String> INFO_PAGES = List.of("Budget", "Overview", "Totals", "Transactions");
+    
+    private static final List<String> PURCHASES = List.of("Groceries", "Hardware Store", "Gas Station", "Movie Theater", "Pharmacy", "Restaurant");
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) throws Exception {
+        final boolean generated = (args.length == 0);
+        final File workbookFile = generated ? File.createTempFile("budget-benchmark", ".xlsx") : new File(args[0]);
+        try {
+            if (generated) {
+                final long start = System.nanoTime();
+                writeWorkbook(workbookFile);
+                System.out.println(String.format("Generated %d sheets, %,d rows, %,d bytes in %.1f s",
+                        SHEETS, ROWS, workbookFile.length(), ((System.nanoTime() - start) / 1000000000.0)));
+            }
+            
+            for (int round = 0; round < ROUNDS; round++) {
+                final Book workbook = measure("XSSFWorkbook", workbookFile, false);
+                final Book streamed = measure("Streaming", workbookFile, true);
+                
+                System.out.println(sameContent(workbook, streamed) ?
+                                   "    the streamed workbook matches the loaded workbook" :
+                                   "    the streamed workbook differs from the loaded workbook");
+                workbook.close();
+            }
+            
+        } finally {
+            if (generated) {
+                workbookFile.delete();
+            }
+        }
+    }
+    
+    
+    //Static Methods
+    
+    private static Book measure(String name, File workbookFile, boolean streaming) throws IOException {
+        final long baseMemory = usedMemory();
+        final long start = System.nanoTime();
+        
+        final Book book = new Book() {
+        };
+        if (streaming) {
+            book.stream(workbookFile);
+        } else {
+            book.load(workbookFile);
+        }
+        final Budget budget = new Budget(book);
+        
+        final double seconds = (System.nanoTime() - start) / 1000000000.0;
+        final long memory = usedMemory() - baseMemory;
+        final int items = budget.months.stream().mapToInt(month -> month.items.size()).sum();
+        System.out.println(String.format("%-13s %8.2f s %10.1f MB retained  (%d months, %,d items)",
+                name, seconds, (memory / 1048576.0), budget.months.size(), items));
+        return book;
+    }
+    
+    private static boolean sameContent(Book expected, Book actual) {
+        if (expected.pages.size() != actual.pages.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.pages.size(); i++) {
+            final Page expectedPage = expected.pages.get(i);
+            final Page actualPage = actual.pages.get(i);
+            if (!expectedPage.title.equals(actualPage.title) || (expectedPage.lines.size() != actualPage.lines.size()) ||
+                    (expectedPage.columns.size() != actualPage.columns.size())) {
+                return false;
+            }
+            for (int line = 0; line < expectedPage.lines.size(); line++) {
+                if (!expectedPage.lines.get(line).data.equals(actualPage.lines.get(line).data)) {
+                    return false;
+                }
+            }
+            for (int column = 0; column < expectedPage.columns.size(); column++) {
+                final Column expectedColumn = expectedPage.columns.get(column);
+                final Column actualColumn = actualPage.columns.get(column);
+                if (!Objects.equals(expectedColumn.header, actualColumn.header) || !expectedColumn.data.equals(actualColumn.data)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+    
+    private static void writeWorkbook(File workbookFile) throws IOException {
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(null, 1000, true, true);
+        try {
+            final CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("d-mmm-yy"));
+            
+            final int infoRows = ROWS / SHEETS;
+            final int monthRows = (ROWS - (infoRows * INFO_PAGES.size())) / (SHEETS - INFO_PAGES.size());
+            
+            for (String title : INFO_PAGES) {
+                final Sheet sheet = workbook.createSheet(title);
+                for (int r = 0; r < infoRows; r++) {
+                    final Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue(title + " " + r);
+                    row.createCell(1).setCellValue(r * 1.25);
+                }
+            }
+            
+            final Calendar date = Calendar.getInstance();
+            date.clear();
+            date.set(2020, Calendar.JANUARY, 1);
+            for (int s = INFO_PAGES.size(); s < SHEETS; s++) {
+                final Sheet sheet = workbook.createSheet(Month.MONTH_KEYS.get(date.get(Calendar.MONTH)) + "-" + String.format("%02d", (date.get(Calendar.YEAR) % 100)));
+                
+                final Row headers = sheet.createRow(0);
+                for (int c = 0; c < Month.HEADERS.size(); c++) {
+                    headers.createCell(c).setCellValue(Month.HEADERS.get(c));
+                }
+                sheet.createRow(1);
+                
+                final Row totals = sheet.createRow(Month.TOTALS_ROW_INDEX);
+                for (Category category : Category.values()) {
+                    final String column = CellReference.convertNumToColString(category.columnIndex);
+                    totals.createCell(category.columnIndex).setCellFormula("SUM(" + column + (Month.FIRST_ITEM_ROW_INDEX + 1) + ":" + column + monthRows + ")");
+                }
+                
+                for (int r = Month.FIRST_ITEM_ROW_INDEX; r < monthRows; r++) {
+                    final Row row = sheet.createRow(r);
+                    final Cell dateCell = row.createCell(0);
+                    date.set(Calendar.DAY_OF_MONTH, (1 + (r % date.getActualMaximum(Calendar.DAY_OF_MONTH))));
+                    dateCell.setCellValue(date.getTime());
+                    dateCell.setCellStyle(dateStyle);
+                    row.createCell(1).setCellValue(PURCHASES.get(r % PURCHASES.size()));
+                    
+                    final Category purchaseCategory = Category.values()[r % Category.values().length];
+                    for (Category category : Category.values()) {
+                        final Cell priceCell = row.createCell(category.columnIndex);
+                        if (category == purchaseCategory) {
+                            priceCell.setCellValue(((r * 37) % 10000) / 100.0);
+                        }
+                    }
+                }
+                
+                date.set(Calendar.DAY_OF_MONTH, 1);
+                date.add(Calendar.MONTH, 1);
+            }
+            
+            try (FileOutputStream out = new FileOutputStream(workbookFile)) {
+                workbook.write(out);
+            }
+            
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+    
+}
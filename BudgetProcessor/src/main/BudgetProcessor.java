@@ -39,7 +39,7 @@ public class BudgetProcessor {
     
     private static Budget loadBudget() {
         try {
-            Budget budget = new Budget(BUDGET_TEST);
+            Budget budget = new Budget(BUDGET_TEST, true);
             return budget;
             
         } catch (Exception e) {
@@ -38,11 +38,15 @@ public abstract class Book {
         parse();
     }
     
-    protected Book(File workbookFile) {
+    protected Book(File workbookFile, boolean streaming) {
         this.title = workbookFile.getName().replaceAll("\\.[^.]+$", "");
         
         try {
-            load(workbookFile);
+            if (streaming) {
+                stream(workbookFile);
+            } else {
+                load(workbookFile);
+            }
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -50,6 +54,10 @@ public abstract class Book {
         parse();
     }
     
+    protected Book(File workbookFile) {
+        this(workbookFile, false);
+    }
+    
     protected Book() {
     }
     
@@ -68,6 +76,10 @@ public abstract class Book {
         load(new XSSFWorkbook(workbookStream));
     }
     
+    public void stream(File workbookFile) throws IOException {
+        WorkbookReader.read(workbookFile, this);
+    }
+    
     private void load(Workbook workbook) {
         this.workbook = workbook;
         
@@ -82,12 +94,18 @@ public abstract class Book {
     }
     
     public void save(File workbookFile) throws IOException, FileNotFoundException {
+        if (workbook == null) {
+            throw new IllegalStateException("The workbook was streamed and cannot be saved: " + title);
+        }
+        
         final FileOutputStream out = new FileOutputStream(workbookFile);
         workbook.write(out);
     }
     
     public void close() throws IOException {
-        workbook.close();
+        if (workbook != null) {
+            workbook.close();
+        }
     }
     
     protected void addPage(Page page) {
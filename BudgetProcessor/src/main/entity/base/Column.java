@@ -6,6 +6,7 @@
 
 package main.entity.base;
 
+import java.util.AbstractList;
 import java.util.List;
 
 public class Column extends Data {
@@ -31,6 +32,25 @@ public class Column extends Data {
         this.data.addAll(data);
     }
     
+    protected Column(Page page, int columnIndex, String header) {
+        super(new AbstractList<>() {
+            @Override
+            public String get(int lineIndex) {
+                final List<String> lineData = page.lines.get(lineIndex).data;
+                return (columnIndex < lineData.size()) ? lineData.get(columnIndex) : null;
+            }
+            
+            @Override
+            public int size() {
+                return page.lines.size();
+            }
+        });
+        
+        this.header = header;
+        this.page = page;
+        this.columnIndex = columnIndex;
+    }
+    
     protected Column() {
     }
     
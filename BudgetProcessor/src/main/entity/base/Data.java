@@ -13,6 +13,17 @@ public abstract class Data {
     
     //Fields
     
-    public final List<String> data = new ArrayList<>();
+    public final List<String> data;
+    
+    
+    //Constructors
+    
+    protected Data(List<String> data) {
+        this.data = data;
+    }
+    
+    protected Data() {
+        this(new ArrayList<>());
+    }
     
 }
@@ -80,28 +80,13 @@ public class Page {
         if ((line.lineIndex == 0) && columns.isEmpty()) {
             line.data.forEach(this::addHeader);
         }
-        for (int cell = 0; cell < line.data.size(); cell++) {
-            if (columns.size() <= cell) {
-                addHeader("", line.lineIndex);
-            }
-            columns.get(cell).data.add(line.data.get(cell));
+        while (columns.size() < line.data.size()) {
+            addHeader("");
         }
     }
     
     protected void addHeader(String header) {
-        final Column column = new Column();
-        column.header = header;
-        column.columnIndex = columns.size();
-        columns.add(column);
-    }
-    
-    protected void addHeader(String header, int lineIndex) {
-        addHeader(header);
-        
-        Column column = columns.get(columns.size() - 1);
-        for (int i = 0; i < lineIndex; i++) {
-            column.data.add(null);
-        }
+        columns.add(new Column(this, columns.size(), header));
     }
     
 }
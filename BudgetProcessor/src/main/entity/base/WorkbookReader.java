@@ -0,0 +1,279 @@
+/*
+ * File:    WorkbookReader.java
+ * Package: main.entity.base
+ * Author:  Zachary Gill
+ */
+
+package main.entity.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.LocaleUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+public final class WorkbookReader {
+    
+    //Fields
+    
+    private final ReadOnlySharedStringsTable sharedStrings;
+    
+    private final StylesTable styles;
+    
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    
+    private final DateFormat dateFormat;
+    
+    private boolean date1904 = false;
+    
+    
+    //Constructors
+    
+    private WorkbookReader(ReadOnlySharedStringsTable sharedStrings, StylesTable styles) {
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        
+        this.dateFormat = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+        this.dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+    }
+    
+    
+    //Methods
+    
+    private String cellString(String type, int style, String value, String formula) {
+        if ((formula != null) && !formula.isEmpty()) {
+            return formula;
+        }
+        if ((value == null) || value.isEmpty()) {
+            return "";
+        }
+        
+        switch ((type == null) ? "n" : type) {
+            case "s":
+                return sharedStrings.getItemAt(Integer.parseInt(value)).getString();
+            case "b":
+                return value.equals("1") ? "TRUE" : "FALSE";
+            case "n":
+                final double number = Double.parseDouble(value);
+                return (isDateStyle(style) && DateUtil.isValidExcelDate(number)) ?
+                       dateFormat.format(DateUtil.getJavaDate(number, date1904)) :
+                       Double.toString(number);
+            default:
+                return value;
+        }
+    }
+    
+    private boolean isDateStyle(int style) {
+        return dateStyles.computeIfAbsent(style, e -> {
+            final XSSFCellStyle cellStyle = ((styles != null) && (style < styles.getNumCellStyles())) ? styles.getStyleAt(style) : null;
+            return (cellStyle != null) && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+        });
+    }
+    
+    
+    //Static Methods
+    
+    public static void read(File workbookFile, Book book) throws IOException {
+        final OPCPackage workbookPackage;
+        try {
+            workbookPackage = OPCPackage.open(workbookFile, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unable to open workbook: " + workbookFile.getPath(), e);
+        }
+        
+        try {
+            final XSSFReader reader = new XSSFReader(workbookPackage);
+            final WorkbookReader workbookReader = new WorkbookReader(new ReadOnlySharedStringsTable(workbookPackage), reader.getStylesTable());
+            final XMLReader parser = XMLHelper.newXMLReader();
+            
+            parser.setContentHandler(workbookReader.new WorkbookHandler());
+            try (InputStream workbookStream = reader.getWorkbookData()) {
+                parser.parse(new InputSource(workbookStream));
+            }
+            
+            final XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    final Page page = new Page();
+                    page.title = sheets.getSheetName();
+                    parser.setContentHandler(workbookReader.new SheetHandler(page));
+                    parser.parse(new InputSource(sheetStream));
+                    book.addPage(page);
+                }
+            }
+            
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unable to read workbook: " + workbookFile.getPath(), e);
+        } finally {
+            workbookPackage.revert();
+        }
+    }
+    
+    private static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; (i < cellReference.length()) && Character.isLetter(cellReference.charAt(i)); i++) {
+            column = (column * 26) + (Character.toUpperCase(cellReference.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+    
+    
+    //Inner Classes
+    
+    private final class WorkbookHandler extends DefaultHandler {
+        
+        //Methods
+        
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (localName.equals("workbookPr")) {
+                final String value = attributes.getValue("date1904");
+                date1904 = "1".equals(value) || "true".equalsIgnoreCase(value);
+            }
+        }
+        
+    }
+    
+    private final class SheetHandler extends DefaultHandler {
+        
+        //Fields
+        
+        private final Page page;
+        
+        private final List<String> cells = new ArrayList<>();
+        
+        private final StringBuilder text = new StringBuilder();
+        
+        private int cellCount;
+        
+        private int column;
+        
+        private String type;
+        
+        private int style;
+        
+        private String value;
+        
+        private String formula;
+        
+        private boolean inlineString;
+        
+        private boolean phonetic;
+        
+        private boolean collecting;
+        
+        
+        //Constructors
+        
+        private SheetHandler(Page page) {
+            this.page = page;
+        }
+        
+        
+        //Methods
+        
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    cells.clear();
+                    cellCount = 0;
+                    column = -1;
+                    break;
+                case "c":
+                    final String reference = attributes.getValue("r");
+                    final String styleIndex = attributes.getValue("s");
+                    cellCount++;
+                    column = (reference != null) ? columnIndex(reference) : (column + 1);
+                    type = attributes.getValue("t");
+                    style = (styleIndex != null) ? Integer.parseInt(styleIndex) : 0;
+                    value = null;
+                    formula = null;
+                    break;
+                case "v":
+                case "f":
+                    text.setLength(0);
+                    collecting = !localName.equals("f") || !"dataTable".equals(attributes.getValue("t"));
+                    break;
+                case "is":
+                    text.setLength(0);
+                    inlineString = true;
+                    break;
+                case "rPh":
+                    phonetic = true;
+                    break;
+                case "t":
+                    collecting = inlineString && !phonetic;
+                    break;
+            }
+        }
+        
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collecting) {
+                text.append(ch, start, length);
+            }
+        }
+        
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                    value = text.toString();
+                    collecting = false;
+                    break;
+                case "f":
+                    formula = collecting ? text.toString() : null;
+                    collecting = false;
+                    break;
+                case "t":
+                    collecting = false;
+                    break;
+                case "rPh":
+                    phonetic = false;
+                    break;
+                case "is":
+                    value = text.toString();
+                    inlineString = false;
+                    break;
+                case "c":
+                    while (cells.size() <= column) {
+                        cells.add(null);
+                    }
+                    cells.set(column, cellString(type, style, value, formula));
+                    break;
+                case "row":
+                    final Line line = new Line();
+                    for (Iterator<String> cell = cells.iterator(); line.data.size() < cellCount; ) {
+                        line.data.add(cell.hasNext() ? cell.next() : null);
+                    }
+                    page.addLine(line);
+                    break;
+            }
+        }
+        
+    }
+    
+}
@@ -51,6 +51,10 @@ public class Budget extends Book {
         super(book);
     }
     
+    public Budget(File workbookFile, boolean streaming) {
+        super(workbookFile, streaming);
+    }
+    
     public Budget(File workbookFile) {
         super(workbookFile);
     }
@@ -0,0 +1,813 @@
+/*
+ * File:    DependencyGraph.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import commons.access.Filesystem;
+
+/**
+ * An indexed graph of the dependencies between the files of a source tree.
+ */
+public class DependencyGraph {
+    
+    //Constants
+    
+    /**
+     * The file type of the source files that are parsed for dependencies.
+     */
+    public static final String SOURCE_TYPE = "java";
+    
+    /**
+     * The header of the cache file, which changes whenever the format of the cache changes.
+     */
+    private static final String CACHE_HEADER = "#DependencyGraph 1";
+    
+    
+    //Fields
+    
+    /**
+     * The root directory of the source tree.
+     */
+    private final File root;
+    
+    /**
+     * The nodes of the graph, in the order they were discovered.
+     */
+    private final List<Node> nodes = new ArrayList<>();
+    
+    /**
+     * The nodes of the graph, by key.
+     */
+    private final Map<String, Node> index = new HashMap<>();
+    
+    /**
+     * The strongly connected components of the graph, with the dependencies of each component before it.
+     */
+    private final List<List<Node>> components = new ArrayList<>();
+    
+    /**
+     * The components that each component transitively depends on, including itself.
+     */
+    private BitSet[] closures;
+    
+    /**
+     * The number of source files that were tokenized rather than loaded from the cache.
+     */
+    private final int parsedCount;
+    
+    
+    //Constructors
+    
+    /**
+     * Creates a new DependencyGraph.<br>
+     * The source files that are not in the cache with the same size and modification time are tokenized in parallel,
+     * then the imports and identifiers of every source file are resolved against the index of the tree.
+     *
+     * @param root  The root directory of the source tree.
+     * @param cache The file to cache the tokens of the source files in, or null.
+     */
+    public DependencyGraph(File root, File cache) {
+        this.root = root;
+        
+        loadNodes(new Node(root, null));
+        final Map<String, CacheEntry> cached = (cache != null) ? readCache(cache) : Collections.emptyMap();
+        final AtomicInteger parsed = new AtomicInteger(0);
+        nodes.parallelStream()
+                .filter(Node::isSource)
+                .forEach(node -> {
+                    readAttributes(node);
+                    final CacheEntry entry = cached.get(node.getPath());
+                    if ((entry != null) && (entry.size == node.size) && (entry.modified == node.modified)) {
+                        node.tokens = entry.tokens;
+                    } else {
+                        node.tokens = SourceTokens.tokenize(Filesystem.readFileToString(node.file));
+                        parsed.incrementAndGet();
+                    }
+                });
+        this.parsedCount = parsed.get();
+        nodes.forEach(this::resolveDependencies);
+        loadComponents();
+        
+        if ((cache != null) && ((parsedCount > 0) || (cached.size() != getNodes(Node::isSource).size()))) {
+            writeCache(cache);
+        }
+    }
+    
+    /**
+     * Creates a new DependencyGraph without a cache.
+     *
+     * @param root The root directory of the source tree.
+     * @see #DependencyGraph(File, File)
+     */
+    public DependencyGraph(File root) {
+        this(root, null);
+    }
+    
+    
+    //Methods
+    
+    /**
+     * Adds a node and all of its descendants to the graph.
+     *
+     * @param rootNode The node.
+     */
+    private void loadNodes(Node rootNode) {
+        final Deque<Node> stack = new ArrayDeque<>(Collections.singleton(rootNode));
+        while (!stack.isEmpty()) {
+            final Node node = stack.pop();
+            node.id = nodes.size();
+            nodes.add(node);
+            index.putIfAbsent(node.key, node);
+            
+            if (node.isDirectory()) {
+                for (File file : Filesystem.getFilesAndDirs(node.file)) {
+                    final Node child = new Node(file, node);
+                    node.children.add(child);
+                    if (!child.isDirectory()) {
+                        node.members.computeIfAbsent(child.name, e -> new ArrayList<>()).add(child);
+                    }
+                    stack.push(child);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Resolves the direct dependencies of a node.<br>
+     * A directory depends on its children, and a source file depends on the files and packages it imports and the files in its package that it names.
+     *
+     * @param node The node.
+     */
+    private void resolveDependencies(Node node) {
+        if (node.isDirectory()) {
+            node.dependencies.addAll(node.children);
+            return;
+        }
+        if (node.tokens == null) {
+            return;
+        }
+        
+        final Set<Node> dependencies = new LinkedHashSet<>();
+        for (String imported : node.tokens.imports) {
+            final Node dependency = imported.endsWith(".*") ?
+                                    index.get(imported.substring(0, (imported.length() - 2))) :
+                                    resolveImport(imported);
+            if (dependency != null) {
+                dependencies.add(dependency);
+            }
+        }
+        if (node.parent != null) {
+            for (String identifier : node.tokens.identifiers) {
+                dependencies.addAll(node.parent.members.getOrDefault(identifier, Collections.emptyList()));
+            }
+        }
+        dependencies.remove(node);
+        node.dependencies.addAll(dependencies);
+    }
+    
+    /**
+     * Resolves a single type or static import to the file that declares it.<br>
+     * Imports of nested classes and static members are resolved to the longest prefix that names a file.
+     *
+     * @param imported The imported name.
+     * @return The file that declares the import, or null if it is not in the source tree.
+     */
+    private Node resolveImport(String imported) {
+        for (String key = imported; !key.isEmpty(); key = key.substring(0, Math.max(key.lastIndexOf('.'), 0))) {
+            final Node node = index.get(key);
+            if ((node != null) && !node.isDirectory()) {
+                return node;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds the strongly connected components of the graph and the transitive closure of each one.<br>
+     * Tarjan's algorithm completes each component after every component it depends on,
+     * so the closure of a component is the union of the closures of its direct dependencies.
+     */
+    private void loadComponents() {
+        final int count = nodes.size();
+        final int[] order = new int[count];
+        final int[] lowLink = new int[count];
+        final boolean[] onStack = new boolean[count];
+        final int[] stack = new int[count];
+        final int[] callStack = new int[count];
+        final int[] edgeStack = new int[count];
+        Arrays.fill(order, -1);
+        
+        int counter = 0;
+        int stackSize = 0;
+        for (int start = 0; start < count; start++) {
+            if (order[start] >= 0) {
+                continue;
+            }
+            
+            int depth = 0;
+            callStack[0] = start;
+            edgeStack[0] = 0;
+            order[start] = lowLink[start] = counter++;
+            stack[stackSize++] = start;
+            onStack[start] = true;
+            
+            while (depth >= 0) {
+                final Node node = nodes.get(callStack[depth]);
+                if (edgeStack[depth] < node.dependencies.size()) {
+                    final Node next = node.dependencies.get(edgeStack[depth]++);
+                    if (order[next.id] < 0) {
+                        depth++;
+                        callStack[depth] = next.id;
+                        edgeStack[depth] = 0;
+                        order[next.id] = lowLink[next.id] = counter++;
+                        stack[stackSize++] = next.id;
+                        onStack[next.id] = true;
+                    } else if (onStack[next.id]) {
+                        lowLink[node.id] = Math.min(lowLink[node.id], order[next.id]);
+                    }
+                    continue;
+                }
+                
+                if (lowLink[node.id] == order[node.id]) {
+                    final List<Node> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        nodes.get(member).component = components.size();
+                        component.add(nodes.get(member));
+                    } while (member != node.id);
+                    components.add(component);
+                }
+                if (--depth >= 0) {
+                    lowLink[callStack[depth]] = Math.min(lowLink[callStack[depth]], lowLink[node.id]);
+                }
+            }
+        }
+        
+        closures = new BitSet[components.size()];
+        for (int i = 0; i < components.size(); i++) {
+            final BitSet closure = new BitSet();
+            closure.set(i);
+            for (Node member : components.get(i)) {
+                for (Node dependency : member.dependencies) {
+                    if (dependency.component != i) {
+                        closure.or(closures[dependency.component]);
+                    }
+                }
+            }
+            closures[i] = closure;
+        }
+    }
+    
+    /**
+     * Returns a list of nodes and everything they transitively depend on.
+     *
+     * @param requested The nodes.
+     * @return The list of nodes and their transitive dependencies, with the dependencies of each component before it.
+     */
+    public List<Node> getAllDependencies(Collection<Node> requested) {
+        final BitSet closure = new BitSet(components.size());
+        requested.stream().filter(Objects::nonNull).forEach(node -> closure.or(closures[node.component]));
+        
+        final List<Node> dependencies = new ArrayList<>();
+        closure.stream().forEach(component -> dependencies.addAll(components.get(component)));
+        return dependencies;
+    }
+    
+    /**
+     * Returns a list of nodes and everything they transitively depend on.
+     *
+     * @param keys The keys of the nodes.
+     * @return The list of nodes and their transitive dependencies, with the dependencies of each component before it.
+     * @see #getAllDependencies(Collection)
+     */
+    public List<Node> getAllDependencies(String... keys) {
+        return getAllDependencies(Arrays.stream(keys).map(index::get).collect(Collectors.toList()));
+    }
+    
+    /**
+     * Determines if a node transitively depends on another node.
+     *
+     * @param node       The node.
+     * @param dependency The other node.
+     * @return Whether the node transitively depends on the other node.
+     */
+    public boolean dependsOn(Node node, Node dependency) {
+        return closures[node.component].get(dependency.component);
+    }
+    
+    /**
+     * Returns the nodes that are in a dependency cycle with a node, including itself.
+     *
+     * @param node The node.
+     * @return The strongly connected component of the node.
+     */
+    public List<Node> getComponent(Node node) {
+        return Collections.unmodifiableList(components.get(node.component));
+    }
+    
+    /**
+     * Returns the dependency cycles of the graph.
+     *
+     * @return The strongly connected components of the graph with more than one node.
+     */
+    public List<List<Node>> getCycles() {
+        return components.stream()
+                .filter(component -> (component.size() > 1))
+                .map(Collections::unmodifiableList)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Writes the tokens of the source files to a cache file.
+     *
+     * @param cache The cache file.
+     */
+    private void writeCache(File cache) {
+        final File tmp = new File(cache.getPath() + ".tmp");
+        if ((cache.getAbsoluteFile().getParentFile() != null) && !cache.getAbsoluteFile().getParentFile().exists()) {
+            cache.getAbsoluteFile().getParentFile().mkdirs();
+        }
+        
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(CACHE_HEADER);
+                writer.newLine();
+                for (Node node : nodes) {
+                    if (node.isSource() && (node.tokens != null) && (node.size >= 0)) {
+                        writer.write(node.getPath() + '\t' + node.size + '\t' + node.modified + '\t' +
+                                String.join(" ", node.tokens.imports) + '\t' + String.join(" ", node.tokens.identifiers));
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(tmp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write the dependency cache: " + cache.getPath(), e);
+        }
+    }
+    
+    /**
+     * Returns the nodes of the graph that pass a filter.
+     *
+     * @param filter The filter.
+     * @return The nodes of the graph that pass the filter.
+     */
+    public List<Node> getNodes(Predicate<Node> filter) {
+        return nodes.stream().filter(filter).collect(Collectors.toList());
+    }
+    
+    
+    //Getters
+    
+    /**
+     * Returns the root directory of the source tree.
+     *
+     * @return The root directory of the source tree.
+     */
+    public File getRoot() {
+        return root;
+    }
+    
+    /**
+     * Returns the nodes of the graph.
+     *
+     * @return The nodes of the graph.
+     */
+    public List<Node> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+    
+    /**
+     * Returns a node of the graph.
+     *
+     * @param key The key of the node.
+     * @return The node, or null if it is not in the graph.
+     */
+    public Node getNode(String key) {
+        return index.get(key);
+    }
+    
+    /**
+     * Returns the strongly connected components of the graph.
+     *
+     * @return The strongly connected components of the graph, with the dependencies of each component before it.
+     */
+    public List<List<Node>> getComponents() {
+        return Collections.unmodifiableList(components);
+    }
+    
+    /**
+     * Returns the number of source files that were tokenized rather than loaded from the cache.
+     *
+     * @return The number of source files that were tokenized rather than loaded from the cache.
+     */
+    public int getParsedCount() {
+        return parsedCount;
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Reads the size and modification time of a source file.
+     *
+     * @param node The node of the source file.
+     */
+    private static void readAttributes(Node node) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(node.file.toPath(), BasicFileAttributes.class);
+            node.size = attributes.size();
+            node.modified = attributes.lastModifiedTime().toMillis();
+        } catch (IOException ignored) {
+            node.size = -1;
+            node.modified = -1;
+        }
+    }
+    
+    /**
+     * Reads the tokens of the source files from a cache file.<br>
+     * A missing, unreadable or outdated cache is treated as empty, so every source file is tokenized again.
+     *
+     * @param cache The cache file.
+     * @return The cache entries, by the path of the source file.
+     */
+    private static Map<String, CacheEntry> readCache(File cache) {
+        final Map<String, CacheEntry> entries = new HashMap<>();
+        if (!cache.exists()) {
+            return entries;
+        }
+        
+        try (BufferedReader reader = Files.newBufferedReader(cache.toPath(), StandardCharsets.UTF_8)) {
+            if (!CACHE_HEADER.equals(reader.readLine())) {
+                return entries;
+            }
+            for (String line; (line = reader.readLine()) != null; ) {
+                final String[] fields = line.split("\t", -1);
+                if (fields.length != 5) {
+                    continue;
+                }
+                entries.put(fields[0], new CacheEntry(Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                        new SourceTokens(splitTokens(fields[3]), splitTokens(fields[4]))));
+            }
+        } catch (IOException | NumberFormatException ignored) {
+            entries.clear();
+        }
+        return entries;
+    }
+    
+    /**
+     * Splits a space separated list of tokens from the cache.
+     *
+     * @param tokens The space separated list of tokens.
+     * @return The set of tokens.
+     */
+    private static Set<String> splitTokens(String tokens) {
+        return tokens.isEmpty() ? new HashSet<>() : new HashSet<>(Arrays.asList(tokens.split(" ")));
+    }
+    
+    
+    //Inner Classes
+    
+    /**
+     * A file or directory of the source tree.
+     */
+    public static final class Node {
+        
+        //Fields
+        
+        /**
+         * The id of the node in its graph.
+         */
+        private int id;
+        
+        /**
+         * The index of the strongly connected component of the node.
+         */
+        private int component;
+        
+        /**
+         * The size of the source file, or -1 if it could not be read.
+         */
+        private long size = -1;
+        
+        /**
+         * The modification time of the source file, or -1 if it could not be read.
+         */
+        private long modified = -1;
+        
+        /**
+         * The file or directory.
+         */
+        public final File file;
+        
+        /**
+         * The dotted path of the file from the root, without its file type.
+         */
+        public final String key;
+        
+        /**
+         * The name of the file, without its file type.
+         */
+        public final String name;
+        
+        /**
+         * The file type, or an empty string for a directory.
+         */
+        public final String fileType;
+        
+        /**
+         * The parent directory, or null for the root.
+         */
+        public final Node parent;
+        
+        /**
+         * The children of the directory.
+         */
+        public final List<Node> children = new ArrayList<>();
+        
+        /**
+         * The direct dependencies of the node.
+         */
+        public final List<Node> dependencies = new ArrayList<>();
+        
+        /**
+         * The files in the directory, by name.
+         */
+        private final Map<String, List<Node>> members = new HashMap<>();
+        
+        /**
+         * The tokens of the source file, or null.
+         */
+        private SourceTokens tokens;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a new Node.
+         *
+         * @param file   The file or directory.
+         * @param parent The parent directory, or null for the root.
+         */
+        private Node(File file, Node parent) {
+            this.file = file;
+            this.parent = parent;
+            this.fileType = (parent == null) ? "" : Filesystem.getFileType(file);
+            this.name = fileType.isEmpty() ? file.getName() : file.getName().substring(0, (file.getName().length() - fileType.length() - 1));
+            this.key = (parent == null) ? "" : (parent.key.isEmpty() ? name : (parent.key + '.' + name));
+        }
+        
+        
+        //Methods
+        
+        /**
+         * Determines if the node is a directory.
+         *
+         * @return Whether the node is a directory.
+         */
+        public boolean isDirectory() {
+            return fileType.isEmpty();
+        }
+        
+        /**
+         * Determines if the node is a source file.
+         *
+         * @return Whether the node is a source file.
+         */
+        public boolean isSource() {
+            return fileType.equals(SOURCE_TYPE);
+        }
+        
+        /**
+         * Returns the path of the file relative to the root.
+         *
+         * @return The path of the file relative to the root.
+         */
+        public String getPath() {
+            return key.replace('.', '/') + (isDirectory() ? "" : ('.' + fileType));
+        }
+        
+        /**
+         * Returns the string representation of the node.
+         *
+         * @return The string representation of the node.
+         */
+        @Override
+        public String toString() {
+            return key;
+        }
+        
+    }
+    
+    /**
+     * The cached tokens of a source file.
+     */
+    private static final class CacheEntry {
+        
+        //Fields
+        
+        /**
+         * The size of the source file when it was tokenized.
+         */
+        private final long size;
+        
+        /**
+         * The modification time of the source file when it was tokenized.
+         */
+        private final long modified;
+        
+        /**
+         * The tokens of the source file.
+         */
+        private final SourceTokens tokens;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a new CacheEntry.
+         *
+         * @param size     The size of the source file when it was tokenized.
+         * @param modified The modification time of the source file when it was tokenized.
+         * @param tokens   The tokens of the source file.
+         */
+        private CacheEntry(long size, long modified, SourceTokens tokens) {
+            this.size = size;
+            this.modified = modified;
+            this.tokens = tokens;
+        }
+        
+    }
+    
+    /**
+     * The imports and identifiers of a source file.
+     */
+    static final class SourceTokens {
+        
+        //Fields
+        
+        /**
+         * The names imported by the source file, with wildcard imports ending in .*
+         */
+        final Set<String> imports;
+        
+        /**
+         * The identifiers used in the code of the source file.
+         */
+        final Set<String> identifiers;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a new SourceTokens.
+         *
+         * @param imports     The names imported by the source file.
+         * @param identifiers The identifiers used in the code of the source file.
+         */
+        SourceTokens(Set<String> imports, Set<String> identifiers) {
+            this.imports = imports;
+            this.identifiers = identifiers;
+        }
+        
+        
+        //Static Methods
+        
+        /**
+         * Tokenizes a source file in a single pass.<br>
+         * Comments, string literals, text blocks and character literals are skipped, so names that only appear in them are not dependencies.
+         *
+         * @param source The contents of the source file.
+         * @return The imports and identifiers of the source file.
+         */
+        static SourceTokens tokenize(String source) {
+            final Set<String> imports = new HashSet<>();
+            final Set<String> identifiers = new HashSet<>();
+            final int length = source.length();
+            
+            StringBuilder imported = null;
+            int depth = 0;
+            int i = 0;
+            while (i < length) {
+                final char c = source.charAt(i);
+                final char next = ((i + 1) < length) ? source.charAt(i + 1) : '\0';
+                
+                if ((c == '/') && (next == '/')) {
+                    i = skipTo(source, "\n", (i + 2));
+                } else if ((c == '/') && (next == '*')) {
+                    i = skipTo(source, "*/", (i + 2));
+                } else if (source.startsWith("\"\"\"", i)) {
+                    i = skipLiteral(source, "\"\"\"", (i + 3));
+                } else if ((c == '"') || (c == '\'')) {
+                    i = skipLiteral(source, String.valueOf(c), (i + 1));
+                    
+                } else if (Character.isJavaIdentifierStart(c)) {
+                    final int start = i;
+                    while ((i < length) && Character.isJavaIdentifierPart(source.charAt(i))) {
+                        i++;
+                    }
+                    final String word = source.substring(start, i);
+                    if (imported != null) {
+                        if ((imported.length() > 0) || !word.equals("static")) {
+                            imported.append(word);
+                        }
+                    } else if ((depth == 0) && word.equals("import")) {
+                        imported = new StringBuilder();
+                    } else {
+                        identifiers.add(word);
+                    }
+                    
+                } else if (Character.isDigit(c)) {
+                    while ((i < length) && (Character.isJavaIdentifierPart(source.charAt(i)) || (source.charAt(i) == '.'))) {
+                        i++;
+                    }
+                    
+                } else {
+                    if (imported != null) {
+                        if ((c == '.') || (c == '*')) {
+                            imported.append(c);
+                        } else if (c == ';') {
+                            imports.add(imported.toString());
+                            imported = null;
+                        }
+                    } else if (c == '{') {
+                        depth++;
+                    } else if (c == '}') {
+                        depth--;
+                    }
+                    i++;
+                }
+            }
+            return new SourceTokens(imports, identifiers);
+        }
+        
+        /**
+         * Returns the index after the next occurrence of a terminator.
+         *
+         * @param source     The contents of the source file.
+         * @param terminator The terminator.
+         * @param from       The index to search from.
+         * @return The index after the terminator, or the length of the source if there is none.
+         */
+        private static int skipTo(String source, String terminator, int from) {
+            final int end = source.indexOf(terminator, from);
+            return (end < 0) ? source.length() : (end + terminator.length());
+        }
+        
+        /**
+         * Returns the index after the end of a literal, honoring escapes.
+         *
+         * @param source     The contents of the source file.
+         * @param terminator The delimiter that ends the literal.
+         * @param from       The index after the opening delimiter.
+         * @return The index after the literal, or the length of the source if it is not terminated.
+         */
+        private static int skipLiteral(String source, String terminator, int from) {
+            final boolean multiline = (terminator.length() > 1);
+            for (int i = from; i < source.length(); i++) {
+                final char c = source.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (source.startsWith(terminator, i)) {
+                    return i + terminator.length();
+                } else if ((c == '\n') && !multiline) {
+                    return i;
+                }
+            }
+            return source.length();
+        }
+        
+    }
+    
+}
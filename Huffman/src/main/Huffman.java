@@ -9,15 +9,14 @@ package main;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.BitSet;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
+import main.huffman.HuffmanCodec;
 import main.huffman.HuffmanDecoder;
 import main.huffman.HuffmanEncoder;
 import main.huffman.HuffmanTree;
+import main.huffman.SymbolCounter;
 import main.util.BinaryUtil;
 import org.apache.commons.io.FileUtils;
 
@@ -28,6 +27,7 @@ public class Huffman {
     public static void main(String[] args) throws Exception {
 //        testBinary();
         testHuffman();
+//        testHuffmanStream();
     }
     
     @SuppressWarnings("UnnecessaryLocalVariable")
@@ -80,6 +80,22 @@ public class Huffman {
         int x = 5;
     }
     
+    private static void testHuffmanStream() throws Exception {
+        final File testFile = new File("data/pi-100000.txt");
+        final File encodedFile = new File("data/" + testFile.getName() + ".hzs");
+        final File decodedFile = new File("data/" + testFile.getName() + ".out");
+        
+        HuffmanCodec.encode(testFile, encodedFile);
+        HuffmanCodec.decode(encodedFile, decodedFile);
+        
+        System.out.println("Original Data: " + testFile.length() + " bytes");
+        System.out.println("Encoded Data:  " + encodedFile.length() + " bytes");
+        System.out.println("Compression:   " + String.format("%.04f",
+                (encodedFile.length() / (double) testFile.length())));
+        
+        assert (FileUtils.contentEquals(testFile, decodedFile));
+    }
+    
     private static void testBinary() throws Exception {
         String s1 = "10110111";
         BitSet b1 = BinaryUtil.toBits(s1);
@@ -114,13 +130,7 @@ public class Huffman {
     //Static Methods
     
     public static Map<Character, Integer> countSymbols(String data) {
-        return data.chars().mapToObj(i -> (char) i)
-                .collect(Collectors.collectingAndThen(
-                        Collectors.groupingBy(Function.identity(), Collectors.counting()),
-                        counts -> counts.entrySet().stream()
-                                .sorted((o1, o2) -> -Long.compare(o1.getValue(), o2.getValue()))
-                                .collect(Collectors.toMap(Map.Entry::getKey, (e -> e.getValue().intValue()),
-                                        (x, y) -> y, LinkedHashMap::new))));
+        return SymbolCounter.toSymbolMap(SymbolCounter.count(data));
     }
     
     private static void compareEncodedData(String data, String encodedData, String tableData) {
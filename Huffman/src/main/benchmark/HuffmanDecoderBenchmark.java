@@ -0,0 +1,148 @@
+/*
+ * File:    HuffmanDecoderBenchmark.java
+ * Package: main.benchmark
+ * Author:  Zachary Gill
+ */
+
+package main.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import main.huffman.HuffmanDecoder;
+import main.huffman.HuffmanEncoder;
+import main.huffman.HuffmanTableDecoder;
+import main.huffman.HuffmanTree;
+import main.util.BitReader;
+import main.util.BitWriter;
+
+public class HuffmanDecoderBenchmark {
+    
+    //Constants
+    
+    private static final int SYMBOLS = 1000000;
+    
+    private static final int WARMUP_ROUNDS = 3;
+    
+    private static final int MEASURE_ROUNDS = 5;
+    
+    private static final long SEED = 2023L;
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) throws Exception {
+        final Random random = new Random(SEED);
+        
+        benchmark("Uniform (256 symbols)", generate(random, i -> random.nextInt(256)));
+        benchmark("Digits (10 symbols)", generate(random, i -> '0' + random.nextInt(10)));
+        benchmark("Geometric (p = 0.3)", generate(random, i -> Math.min(255, (int) (Math.log(random.nextDouble()) / Math.log(0.7)))));
+        benchmark("Zipf (s = 1.2)", generate(random, zipf(random, 256, 1.2)));
+        benchmark("Skewed (99% one symbol)", generate(random, i -> (random.nextInt(100) == 0) ? (1 + random.nextInt(255)) : 0));
+    }
+    
+    
+    //Static Methods
+    
+    private static void benchmark(String name, byte[] data) throws Exception {
+        final Map<Character, Integer> symbols = new HashMap<>();
+        for (byte b : data) {
+            symbols.merge((char) (b & 0xFF), 1, Integer::sum);
+        }
+        
+        final HuffmanEncoder encoder = new HuffmanEncoder(new HuffmanTree(symbols));
+        final String bitString = encoder.encodeData(new String(toChars(data)));
+        
+        final ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        final BitWriter writer = new BitWriter(packed);
+        encoder.getCodec().encodeSymbols(data, 0, data.length, writer);
+        writer.finish();
+        final byte[] packedData = packed.toByteArray();
+        
+        final HuffmanDecoder nodeDecoder = new HuffmanDecoder(encoder.getTree());
+        final HuffmanTableDecoder tableDecoder = new HuffmanTableDecoder(encoder.getCodec().getTree());
+        final byte[] decoded = new byte[data.length];
+        
+        final double nodeRate = measure(data.length, () -> {
+            final String result = nodeDecoder.decodeData(bitString);
+            assert (result.length() == data.length);
+        });
+        final double tableRate = measure(data.length, () -> {
+            tableDecoder.decode(new BitReader(new ByteArrayInputStream(packedData)), decoded, 0, decoded.length);
+            assert Arrays.equals(decoded, data);
+        });
+        
+        System.out.println(name);
+        System.out.println("    Average code:  " + String.format("%.3f", (bitString.length() / (double) data.length)) + " bits");
+        System.out.println("    Tables:        " + tableDecoder.getTableCount());
+        System.out.println("    Node walk:     " + String.format("%10.2f", nodeRate) + " Msym/s");
+        System.out.println("    Table lookup:  " + String.format("%10.2f", tableRate) + " Msym/s");
+        System.out.println("    Speedup:       " + String.format("%10.2f", (tableRate / nodeRate)) + "x");
+    }
+    
+    private static double measure(int symbolCount, BenchmarkTask task) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            task.run();
+        }
+        
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            final long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, (System.nanoTime() - start));
+        }
+        return symbolCount / (best / 1000.0);
+    }
+    
+    private static byte[] generate(Random random, SymbolSource source) {
+        final byte[] data = new byte[SYMBOLS];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) source.next(i);
+        }
+        return data;
+    }
+    
+    private static SymbolSource zipf(Random random, int symbolCount, double exponent) {
+        final double[] cumulative = new double[symbolCount];
+        double total = 0.0;
+        for (int i = 0; i < symbolCount; i++) {
+            total += 1.0 / Math.pow((i + 1), exponent);
+            cumulative[i] = total;
+        }
+        final double sum = total;
+        return i -> {
+            final int index = Arrays.binarySearch(cumulative, (random.nextDouble() * sum));
+            return Math.min((index < 0) ? (-index - 1) : index, (symbolCount - 1));
+        };
+    }
+    
+    private static char[] toChars(byte[] data) {
+        final char[] chars = new char[data.length];
+        for (int i = 0; i < data.length; i++) {
+            chars[i] = (char) (data[i] & 0xFF);
+        }
+        return chars;
+    }
+    
+    
+    //Inner Classes
+    
+    @FunctionalInterface
+    private interface SymbolSource {
+        
+        int next(int index);
+        
+    }
+    
+    @FunctionalInterface
+    private interface BenchmarkTask {
+        
+        void run() throws Exception;
+        
+    }
+    
+}
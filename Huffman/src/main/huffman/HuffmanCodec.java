@@ -0,0 +1,333 @@
+/*
+ * File:    HuffmanCodec.java
+ * Package: main.huffman
+ * Author:  Zachary Gill
+ */
+
+package main.huffman;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import main.util.BitReader;
+import main.util.BitWriter;
+
+public class HuffmanCodec {
+    
+    //Constants
+    
+    public static final int SYMBOL_COUNT = 256;
+    
+    public static final int MAX_CODE_LENGTH = BitWriter.MAX_BITS;
+    
+    public static final int BUFFER_SIZE = 1 << 16;
+    
+    public static final int MAGIC = 0x48554643;
+    
+    
+    //Fields
+    
+    public final int[] codeLengths;
+    
+    public final long[] codes;
+    
+    public final int[] lengthCounts;
+    
+    public final long[] firstCodes;
+    
+    public final int[] firstIndexes;
+    
+    public final int[] sortedSymbols;
+    
+    public HuffmanTree tree = null;
+    
+    
+    //Constructors
+    
+    public HuffmanCodec(int[] codeLengths) {
+        if (codeLengths.length != SYMBOL_COUNT) {
+            throw new IllegalArgumentException("Expected " + SYMBOL_COUNT + " code lengths but found " + codeLengths.length);
+        }
+        
+        this.codeLengths = codeLengths.clone();
+        this.codes = new long[SYMBOL_COUNT];
+        this.lengthCounts = new int[MAX_CODE_LENGTH + 1];
+        this.firstCodes = new long[MAX_CODE_LENGTH + 1];
+        this.firstIndexes = new int[MAX_CODE_LENGTH + 1];
+        
+        int symbolCount = 0;
+        for (int length : this.codeLengths) {
+            if ((length < 0) || (length > MAX_CODE_LENGTH)) {
+                throw new IllegalArgumentException("Invalid code length: " + length);
+            }
+            if (length > 0) {
+                lengthCounts[length]++;
+                symbolCount++;
+            }
+        }
+        this.sortedSymbols = new int[symbolCount];
+        
+        long code = 0L;
+        int index = 0;
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            code = (code + lengthCounts[length - 1]) << 1;
+            firstCodes[length] = code;
+            firstIndexes[length] = index;
+            index += lengthCounts[length];
+        }
+        
+        final int[] nextIndexes = firstIndexes.clone();
+        for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+            final int length = this.codeLengths[symbol];
+            if (length > 0) {
+                final int symbolIndex = nextIndexes[length]++;
+                sortedSymbols[symbolIndex] = symbol;
+                codes[symbol] = firstCodes[length] + (symbolIndex - firstIndexes[length]);
+            }
+        }
+    }
+    
+    public HuffmanCodec(long[] frequencies) {
+        this(computeCodeLengths(frequencies));
+    }
+    
+    public HuffmanCodec(HuffmanTree tree) {
+        this(getCodeLengths(tree));
+    }
+    
+    
+    //Methods
+    
+    public void encode(InputStream in, OutputStream out, long length) throws IOException {
+        //the header is the magic number, the data length as a long, then one code length byte for each of the 256 symbols
+        final DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeLong(length);
+        for (int codeLength : codeLengths) {
+            header.writeByte(codeLength);
+        }
+        header.flush();
+        
+        final BitWriter writer = new BitWriter(out, BUFFER_SIZE);
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = length;
+        int read;
+        while ((remaining > 0) && ((read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) > 0)) {
+            encodeSymbols(buffer, 0, read, writer);
+            remaining -= read;
+        }
+        if (remaining > 0) {
+            throw new IOException("Input ended " + remaining + " symbols early");
+        }
+        writer.finish();
+        out.flush();
+    }
+    
+    public void encodeSymbols(byte[] symbols, int offset, int count, BitWriter writer) throws IOException {
+        for (int i = offset; i < (offset + count); i++) {
+            final int symbol = symbols[i] & 0xFF;
+            final int length = codeLengths[symbol];
+            if (length == 0) {
+                throw new IOException("Symbol " + symbol + " is not present in the code");
+            }
+            writer.writeBits(codes[symbol], length);
+        }
+    }
+    
+    public void decode(BitReader reader, OutputStream out, long length) throws IOException {
+        new HuffmanTableDecoder(getTree()).decode(reader, out, length);
+    }
+    
+    public int decodeSymbol(BitReader reader) throws IOException {
+        long code = 0L;
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            code = (code << 1) | reader.readBit();
+            final long offset = code - firstCodes[length];
+            if (offset < lengthCounts[length]) {
+                return sortedSymbols[firstIndexes[length] + (int) offset];
+            }
+        }
+        throw new IOException("Invalid code in bit stream");
+    }
+    
+    public String getCodeString(int symbol) {
+        final int length = ((symbol >= 0) && (symbol < SYMBOL_COUNT)) ? codeLengths[symbol] : 0;
+        if (length == 0) {
+            return null;
+        }
+        final StringBuilder code = new StringBuilder(length);
+        for (int bit = length - 1; bit >= 0; bit--) {
+            code.append(((codes[symbol] >>> bit) & 1L) == 0L ? '0' : '1');
+        }
+        return code.toString();
+    }
+    
+    private HuffmanTree buildTree() {
+        final HuffmanNode root = new HuffmanNode();
+        for (int symbol : sortedSymbols) {
+            HuffmanNode node = root;
+            for (int bit = codeLengths[symbol] - 1; bit >= 0; bit--) {
+                final boolean right = ((codes[symbol] >>> bit) & 1L) != 0L;
+                if (bit == 0) {
+                    final HuffmanNode leaf = new HuffmanNode((char) symbol);
+                    if (right) {
+                        node.right = leaf;
+                    } else {
+                        node.left = leaf;
+                    }
+                } else {
+                    if (node.traverse(right) == null) {
+                        if (right) {
+                            node.right = new HuffmanNode();
+                        } else {
+                            node.left = new HuffmanNode();
+                        }
+                    }
+                    node = node.traverse(right);
+                }
+            }
+        }
+        return new HuffmanTree(root);
+    }
+    
+    
+    //Getters
+    
+    public int[] getCodeLengths() {
+        return codeLengths;
+    }
+    
+    public long[] getCodes() {
+        return codes;
+    }
+    
+    public int[] getSortedSymbols() {
+        return sortedSymbols;
+    }
+    
+    public HuffmanTree getTree() {
+        if (tree == null) {
+            tree = buildTree();
+        }
+        return tree;
+    }
+    
+    
+    //Static Methods
+    
+    public static void encode(File input, File output) throws IOException {
+        final HuffmanCodec codec = new HuffmanCodec(SymbolCounter.count(input));
+        try (InputStream in = new FileInputStream(input);
+             OutputStream out = new BufferedOutputStream(new FileOutputStream(output), BUFFER_SIZE)) {
+            codec.encode(in, out, input.length());
+        }
+    }
+    
+    public static void decode(File input, File output) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(input), BUFFER_SIZE);
+             OutputStream out = new FileOutputStream(output)) {
+            decode(in, out);
+        }
+    }
+    
+    public static void decode(InputStream in, OutputStream out) throws IOException {
+        final DataInputStream header = new DataInputStream(in);
+        if (header.readInt() != MAGIC) {
+            throw new IOException("Input is not a Huffman encoded stream");
+        }
+        final long length = header.readLong();
+        final int[] codeLengths = new int[SYMBOL_COUNT];
+        for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+            codeLengths[symbol] = header.readUnsignedByte();
+        }
+        
+        final HuffmanCodec codec = new HuffmanCodec(codeLengths);
+        codec.decode(new BitReader(in, BUFFER_SIZE), out, length);
+    }
+    
+    public static int[] computeCodeLengths(long[] frequencies) {
+        final long[] weights = frequencies.clone();
+        while (true) {
+            final int[] codeLengths = buildCodeLengths(weights);
+            int maxLength = 0;
+            for (int length : codeLengths) {
+                maxLength = Math.max(maxLength, length);
+            }
+            if (maxLength <= MAX_CODE_LENGTH) {
+                return codeLengths;
+            }
+            
+            //flatten the distribution until the deepest code fits in the bit writer
+            for (int symbol = 0; symbol < weights.length; symbol++) {
+                if (weights[symbol] > 0) {
+                    weights[symbol] = (weights[symbol] >>> 1) | 1L;
+                }
+            }
+        }
+    }
+    
+    private static int[] buildCodeLengths(long[] weights) {
+        final int[] codeLengths = new int[SYMBOL_COUNT];
+        final long[] nodeWeights = new long[SYMBOL_COUNT * 2];
+        final int[] parents = new int[SYMBOL_COUNT * 2];
+        
+        final PriorityQueue<Integer> queue = new PriorityQueue<>(
+                Comparator.comparingLong((Integer i) -> nodeWeights[i]).thenComparingInt(i -> i));
+        for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+            if (weights[symbol] > 0) {
+                nodeWeights[symbol] = weights[symbol];
+                queue.add(symbol);
+            }
+        }
+        
+        if (queue.size() == 1) {
+            codeLengths[queue.poll()] = 1;
+            return codeLengths;
+        }
+        
+        int nodeCount = SYMBOL_COUNT;
+        while (queue.size() > 1) {
+            final int left = queue.poll();
+            final int right = queue.poll();
+            final int parent = nodeCount++;
+            nodeWeights[parent] = nodeWeights[left] + nodeWeights[right];
+            parents[left] = parent;
+            parents[right] = parent;
+            queue.add(parent);
+        }
+        
+        final int root = nodeCount - 1;
+        for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+            if (weights[symbol] > 0) {
+                int depth = 0;
+                for (int node = symbol; node != root; node = parents[node]) {
+                    depth++;
+                }
+                codeLengths[symbol] = depth;
+            }
+        }
+        return codeLengths;
+    }
+    
+    public static int[] getCodeLengths(HuffmanTree tree) {
+        final int[] codeLengths = new int[SYMBOL_COUNT];
+        for (HuffmanNode leaf : tree.getRoot().getLeaves()) {
+            if (leaf.getSymbol() >= SYMBOL_COUNT) {
+                throw new IllegalArgumentException("Symbol " + (int) leaf.getSymbol() + " does not fit in a byte and cannot be used with the byte codec");
+            }
+            codeLengths[leaf.getSymbol()] = Math.max(leaf.getCode().length(), 1);
+        }
+        return codeLengths;
+    }
+    
+}
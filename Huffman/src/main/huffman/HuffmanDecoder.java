@@ -6,6 +6,9 @@
 
 package main.huffman;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.Objects;
@@ -20,6 +23,8 @@ public class HuffmanDecoder {
     
     public HuffmanNode currentNode;
     
+    public HuffmanCodec codec = null;
+    
     public LinkedHashMap<String, Character> decodingKey;
     
     
@@ -50,17 +55,27 @@ public class HuffmanDecoder {
     }
     
     public String decodeData(String data) {
-        return data.chars()
-                .mapToObj(i -> (i != '0'))
-                .map(this::decode)
-                .filter(Optional::isPresent).map(Optional::get)
-                .map(String::valueOf)
-                .collect(Collectors.joining());
+        final StringBuilder decodedData = new StringBuilder();
+        for (int i = 0; i < data.length(); i++) {
+            decode(data.charAt(i) != '0').ifPresent(decodedData::append);
+        }
+        return decodedData.toString();
+    }
+    
+    public void decodeData(InputStream in, OutputStream out) throws IOException {
+        HuffmanCodec.decode(in, out);
     }
     
     
     //Getters
     
+    public HuffmanCodec getCodec() {
+        if (codec == null) {
+            codec = new HuffmanCodec(getTree());
+        }
+        return codec;
+    }
+    
     public HuffmanTree getTree() {
         return tree;
     }
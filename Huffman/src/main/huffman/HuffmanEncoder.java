@@ -6,6 +6,9 @@
 
 package main.huffman;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.BitSet;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
@@ -23,6 +26,8 @@ public class HuffmanEncoder {
     
     public HuffmanNode currentNode;
     
+    public HuffmanCodec codec = null;
+    
     public LinkedHashMap<Character, String> encodingKey;
     
     
@@ -48,10 +53,18 @@ public class HuffmanEncoder {
     }
     
     public String encodeData(String data) {
-        return data.chars().mapToObj(e -> (char) e)
-                .map(this::encode)
-                .filter(Optional::isPresent).map(Optional::get)
-                .collect(Collectors.joining());
+        final StringBuilder encodedData = new StringBuilder();
+        for (int i = 0; i < data.length(); i++) {
+            final String code = getEncodingKey().get(data.charAt(i));
+            if (code != null) {
+                encodedData.append(code);
+            }
+        }
+        return encodedData.toString();
+    }
+    
+    public void encodeData(InputStream in, OutputStream out, long length) throws IOException {
+        getCodec().encode(in, out, length);
     }
     
     public BitSet compileData(String encodedData, String encodedTree) {
@@ -65,6 +78,13 @@ public class HuffmanEncoder {
     
     //Getters
     
+    public HuffmanCodec getCodec() {
+        if (codec == null) {
+            codec = new HuffmanCodec(getTree());
+        }
+        return codec;
+    }
+    
     public HuffmanTree getTree() {
         return tree;
     }
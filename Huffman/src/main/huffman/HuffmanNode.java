@@ -6,15 +6,16 @@
 
 package main.huffman;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Stream;
 
 import main.util.BinaryUtil;
+import main.util.BitReader;
+import main.util.BitWriter;
 
 public class HuffmanNode implements Comparable<HuffmanNode> {
     
@@ -34,9 +35,6 @@ public class HuffmanNode implements Comparable<HuffmanNode> {
     //Constructors
     
     public HuffmanNode(Character symbol, Integer weight) {
-        if (symbol != null) {
-            System.out.println("Creating node: " + symbol + " " + weight);
-        }
         this.symbol = symbol;
         this.weight = weight;
     }
@@ -50,7 +48,7 @@ public class HuffmanNode implements Comparable<HuffmanNode> {
     }
     
     public HuffmanNode(HuffmanNode left, HuffmanNode right) {
-        this(null, Stream.of(left, right).filter(Objects::nonNull).mapToInt(HuffmanNode::getWeight).sum());
+        this(null, (((left != null) ? left.getWeight() : 0) + ((right != null) ? right.getWeight() : 0)));
         
         this.left = left;
         this.right = right;
@@ -138,30 +136,76 @@ public class HuffmanNode implements Comparable<HuffmanNode> {
     
     //Static Methods
     
-    public static String storeNode(HuffmanNode node) {
-        final StringBuilder nodeData = new StringBuilder();
+    public static void storeNode(HuffmanNode node, StringBuilder nodeData) {
         if (node.isLeaf()) {
             nodeData.append('1');
             nodeData.append(BinaryUtil.toBitString(node.getSymbol()));
         } else {
             nodeData.append('0');
-            Optional.ofNullable(node.getLeft()).map(HuffmanNode::storeNode).ifPresent(nodeData::append);
-            Optional.ofNullable(node.getRight()).map(HuffmanNode::storeNode).ifPresent(nodeData::append);
+            Optional.ofNullable(node.getLeft()).ifPresent(e -> storeNode(e, nodeData));
+            Optional.ofNullable(node.getRight()).ifPresent(e -> storeNode(e, nodeData));
         }
+    }
+    
+    public static String storeNode(HuffmanNode node) {
+        final StringBuilder nodeData = new StringBuilder();
+        storeNode(node, nodeData);
         return nodeData.toString();
     }
     
-    public static HuffmanNode loadNode(AtomicReference<String> bitString) {
-        if (bitString.getAndUpdate(e -> e.substring(1)).charAt(0) == '1') {
-            return new HuffmanNode((char) BinaryUtil.toByte(
-                    bitString.getAndUpdate(e -> e.substring(8)).substring(0, 8)));
+    public static void writeNode(HuffmanNode node, BitWriter writer) throws IOException {
+        if (node.isLeaf()) {
+            if (node.getSymbol() >= HuffmanCodec.SYMBOL_COUNT) {
+                throw new IllegalArgumentException("Symbol " + (int) node.getSymbol() + " does not fit in a byte and cannot be written");
+            }
+            writer.writeBit(true);
+            writer.writeBits(node.getSymbol(), Byte.SIZE);
+        } else {
+            //the format has no empty children, so a missing child is written as a copy of its sibling, which decodes the same bits
+            final HuffmanNode left = Optional.ofNullable(node.getLeft()).orElse(node.getRight());
+            final HuffmanNode right = Optional.ofNullable(node.getRight()).orElse(node.getLeft());
+            if (left == null) {
+                throw new IllegalArgumentException("Cannot write a node with no symbol and no children");
+            }
+            writer.writeBit(false);
+            writeNode(left, writer);
+            writeNode(right, writer);
+        }
+    }
+    
+    public static HuffmanNode loadNode(CharSequence bitString, int[] position) {
+        if (bitString.charAt(position[0]++) == '1') {
+            int symbol = 0;
+            for (int i = 0; i < Byte.SIZE; i++) {
+                symbol = (symbol << 1) | ((bitString.charAt(position[0]++) == '1') ? 1 : 0);
+            }
+            return new HuffmanNode((char) symbol);
         } else {
-            return new HuffmanNode(loadNode(bitString), loadNode(bitString));
+            final HuffmanNode left = loadNode(bitString, position);
+            final HuffmanNode right = loadNode(bitString, position);
+            return new HuffmanNode(left, right);
         }
     }
     
+    public static HuffmanNode loadNode(AtomicReference<String> bitString) {
+        final int[] position = new int[] {0};
+        final HuffmanNode node = loadNode(bitString.get(), position);
+        bitString.set(bitString.get().substring(position[0]));
+        return node;
+    }
+    
     public static HuffmanNode loadNode(String bitString) {
-        return loadNode(new AtomicReference<>(bitString));
+        return loadNode(bitString, new int[] {0});
+    }
+    
+    public static HuffmanNode readNode(BitReader reader) throws IOException {
+        if (reader.readBit() == 1) {
+            return new HuffmanNode((char) reader.readBits(Byte.SIZE));
+        } else {
+            final HuffmanNode left = readNode(reader);
+            final HuffmanNode right = readNode(reader);
+            return new HuffmanNode(left, right);
+        }
     }
     
 }
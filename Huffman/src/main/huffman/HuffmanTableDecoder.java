@@ -0,0 +1,191 @@
+/*
+ * File:    HuffmanTableDecoder.java
+ * Package: main.huffman
+ * Author:  Zachary Gill
+ */
+
+package main.huffman;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import main.util.BitReader;
+
+public class HuffmanTableDecoder {
+    
+    //Constants
+    
+    public static final int DEFAULT_TABLE_BITS = 10;
+    
+    public static final int MAX_TABLE_BITS = 16;
+    
+    public static final int MAX_SYMBOLS_PER_ENTRY = 4;
+    
+    public static final int BUFFER_SIZE = 1 << 16;
+    
+    private static final int COUNT_BITS = 3;
+    
+    private static final int LENGTH_BITS = 6;
+    
+    private static final int FIRST_LENGTH_SHIFT = COUNT_BITS + LENGTH_BITS;
+    
+    private static final int PAYLOAD_SHIFT = FIRST_LENGTH_SHIFT + LENGTH_BITS;
+    
+    
+    //Fields
+    
+    public final HuffmanTree tree;
+    
+    public final int tableBits;
+    
+    public final long[][] tables;
+    
+    public final int[] tableSizes;
+    
+    
+    //Constructors
+    
+    public HuffmanTableDecoder(HuffmanTree tree, int tableBits) {
+        if ((tableBits < 1) || (tableBits > MAX_TABLE_BITS)) {
+            throw new IllegalArgumentException("Table bits must be between 1 and " + MAX_TABLE_BITS);
+        }
+        if (tree.getRoot().isLeaf()) {
+            throw new IllegalArgumentException("Can not build a decoding table for a tree without branches");
+        }
+        
+        this.tree = tree;
+        this.tableBits = tableBits;
+        
+        final List<long[]> tableList = new ArrayList<>();
+        final List<Integer> sizeList = new ArrayList<>();
+        buildTable(tree.getRoot(), tableList, sizeList);
+        
+        this.tables = tableList.toArray(new long[0][]);
+        this.tableSizes = sizeList.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    public HuffmanTableDecoder(HuffmanTree tree) {
+        this(tree, DEFAULT_TABLE_BITS);
+    }
+    
+    
+    //Methods
+    
+    private int buildTable(HuffmanNode start, List<long[]> tableList, List<Integer> sizeList) {
+        final int bits = Math.min(tableBits, depth(start));
+        final long[] table = new long[1 << bits];
+        final int tableIndex = tableList.size();
+        tableList.add(table);
+        sizeList.add(bits);
+        
+        for (int index = 0; index < table.length; index++) {
+            HuffmanNode node = start;
+            long symbols = 0L;
+            int count = 0;
+            int consumed = 0;
+            int firstLength = 0;
+            boolean valid = true;
+            
+            for (int bit = bits - 1; bit >= 0; bit--) {
+                node = node.traverse(((index >>> bit) & 1) != 0);
+                if (node == null) {
+                    valid = false;
+                    break;
+                }
+                if (node.isLeaf()) {
+                    symbols |= ((long) (node.getSymbol() & 0xFF)) << (Byte.SIZE * count);
+                    count++;
+                    consumed = bits - bit;
+                    if (count == 1) {
+                        firstLength = consumed;
+                    }
+                    if (count == MAX_SYMBOLS_PER_ENTRY) {
+                        break;
+                    }
+                    node = getTree().getRoot();
+                }
+            }
+            
+            if (count > 0) {
+                table[index] = count | ((long) consumed << COUNT_BITS) |
+                        ((long) firstLength << FIRST_LENGTH_SHIFT) | (symbols << PAYLOAD_SHIFT);
+            } else if (valid) {
+                final int linkIndex = buildTable(node, tableList, sizeList);
+                table[index] = ((long) bits << COUNT_BITS) | ((long) linkIndex << PAYLOAD_SHIFT);
+            }
+        }
+        return tableIndex;
+    }
+    
+    public int decode(BitReader reader, byte[] buffer, int offset, int length) throws IOException {
+        int position = offset;
+        final int end = offset + length;
+        while (position < end) {
+            int tableIndex = 0;
+            long entry = tables[0][(int) reader.peekBits(tableSizes[0])];
+            while ((entry & ((1 << COUNT_BITS) - 1)) == 0) {
+                if (entry == 0L) {
+                    throw new IOException("Invalid code in bit stream");
+                }
+                reader.skipBits((int) (entry >>> COUNT_BITS) & ((1 << LENGTH_BITS) - 1));
+                tableIndex = (int) (entry >>> PAYLOAD_SHIFT);
+                entry = tables[tableIndex][(int) reader.peekBits(tableSizes[tableIndex])];
+            }
+            
+            final int count = (int) (entry & ((1 << COUNT_BITS) - 1));
+            if (count > (end - position)) {
+                //only take the first symbol so the bits of the rest stay in the reader
+                reader.skipBits((int) (entry >>> FIRST_LENGTH_SHIFT) & ((1 << LENGTH_BITS) - 1));
+                buffer[position++] = (byte) (entry >>> PAYLOAD_SHIFT);
+                continue;
+            }
+            
+            reader.skipBits((int) (entry >>> COUNT_BITS) & ((1 << LENGTH_BITS) - 1));
+            long symbols = entry >>> PAYLOAD_SHIFT;
+            for (int i = 0; i < count; i++) {
+                buffer[position++] = (byte) symbols;
+                symbols >>>= Byte.SIZE;
+            }
+        }
+        return position - offset;
+    }
+    
+    public void decode(BitReader reader, OutputStream out, long length) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = length;
+        while (remaining > 0) {
+            final int count = decode(reader, buffer, 0, (int) Math.min(buffer.length, remaining));
+            out.write(buffer, 0, count);
+            remaining -= count;
+        }
+        out.flush();
+    }
+    
+    
+    //Getters
+    
+    public HuffmanTree getTree() {
+        return tree;
+    }
+    
+    public int getTableBits() {
+        return tableBits;
+    }
+    
+    public int getTableCount() {
+        return tables.length;
+    }
+    
+    
+    //Static Methods
+    
+    private static int depth(HuffmanNode node) {
+        if ((node == null) || node.isLeaf()) {
+            return 0;
+        }
+        return 1 + Math.max(depth(node.getLeft()), depth(node.getRight()));
+    }
+    
+}
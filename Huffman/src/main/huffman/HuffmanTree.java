@@ -6,10 +6,16 @@
 
 package main.huffman;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.concurrent.atomic.AtomicReference;
 
+import main.util.BitReader;
+import main.util.BitWriter;
+
 public class HuffmanTree {
     
     //Fields
@@ -92,4 +98,26 @@ public class HuffmanTree {
         return loadTree(new AtomicReference<>(bitString));
     }
     
+    public static void writeTree(HuffmanTree tree, BitWriter writer) throws IOException {
+        HuffmanNode.writeNode(tree.getRoot(), writer);
+    }
+    
+    public static HuffmanTree readTree(BitReader reader) throws IOException {
+        final HuffmanTree loadedTree = new HuffmanTree(HuffmanNode.readNode(reader));
+        loadedTree.loadedFromFile = true;
+        return loadedTree;
+    }
+    
+    public static byte[] toBytes(HuffmanTree tree) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final BitWriter writer = new BitWriter(out);
+        writeTree(tree, writer);
+        writer.finish();
+        return out.toByteArray();
+    }
+    
+    public static HuffmanTree fromBytes(byte[] data) throws IOException {
+        return readTree(new BitReader(new ByteArrayInputStream(data)));
+    }
+    
 }
@@ -0,0 +1,253 @@
+/*
+ * File:    SymbolCounter.java
+ * Package: main.huffman
+ * Author:  Zachary Gill
+ */
+
+package main.huffman;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public final class SymbolCounter {
+    
+    //Constants
+    
+    public static final int BYTE_SYMBOLS = 256;
+    
+    public static final int CHAR_SYMBOLS = Character.MAX_VALUE + 1;
+    
+    public static final int CHUNK_SIZE = 1 << 20;
+    
+    public static final long MAP_SEGMENT_SIZE = 1L << 30;
+    
+    
+    //Static Fields
+    
+    private static final ForkJoinPool pool = ForkJoinPool.commonPool();
+    
+    
+    //Static Methods
+    
+    public static long[] count(byte[] data) {
+        return count(ByteBuffer.wrap(data));
+    }
+    
+    public static long[] count(ByteBuffer data) {
+        return pool.invoke(new ByteCountTask(data, data.position(), data.limit()));
+    }
+    
+    public static long[] count(File file) throws IOException {
+        final long[] counts = new long[BYTE_SYMBOLS];
+        try (RandomAccessFile in = new RandomAccessFile(file, "r");
+             FileChannel channel = in.getChannel()) {
+            final long size = channel.size();
+            for (long offset = 0; offset < size; offset += MAP_SEGMENT_SIZE) {
+                final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+                        offset, Math.min(MAP_SEGMENT_SIZE, (size - offset)));
+                merge(counts, count(segment));
+            }
+        }
+        return counts;
+    }
+    
+    public static long[] count(CharSequence data) {
+        final long[] counts = new long[CHAR_SYMBOLS];
+        final CharHistogram histogram = pool.invoke(new CharCountTask(data, 0, data.length()));
+        System.arraycopy(histogram.counts, 0, counts, histogram.first, histogram.counts.length);
+        return counts;
+    }
+    
+    public static Map<Character, Integer> toSymbolMap(long[] counts) {
+        final Map<Character, Integer> symbols = new LinkedHashMap<>();
+        final int[] order = new int[counts.length];
+        int symbolCount = 0;
+        for (int symbol = 0; symbol < counts.length; symbol++) {
+            if (counts[symbol] > 0) {
+                order[symbolCount++] = symbol;
+            }
+        }
+        
+        final Integer[] sorted = new Integer[symbolCount];
+        for (int i = 0; i < symbolCount; i++) {
+            sorted[i] = order[i];
+        }
+        Arrays.sort(sorted, (o1, o2) -> Long.compare(counts[o2], counts[o1]));
+        
+        for (Integer symbol : sorted) {
+            symbols.put((char) symbol.intValue(), (int) Math.min(counts[symbol], Integer.MAX_VALUE));
+        }
+        return symbols;
+    }
+    
+    private static long[] merge(long[] counts, long[] other) {
+        for (int symbol = 0; symbol < counts.length; symbol++) {
+            counts[symbol] += other[symbol];
+        }
+        return counts;
+    }
+    
+    
+    //Inner Classes
+    
+    private static class ByteCountTask extends RecursiveTask<long[]> {
+        
+        //Constants
+        
+        private static final long serialVersionUID = 1L;
+        
+        
+        //Fields
+        
+        private final ByteBuffer data;
+        
+        private final int from;
+        
+        private final int to;
+        
+        
+        //Constructors
+        
+        private ByteCountTask(ByteBuffer data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+        }
+        
+        
+        //Methods
+        
+        @Override
+        protected long[] compute() {
+            if ((to - from) > CHUNK_SIZE) {
+                final int middle = (from + to) >>> 1;
+                final ByteCountTask left = new ByteCountTask(data, from, middle);
+                left.fork();
+                final long[] counts = new ByteCountTask(data, middle, to).compute();
+                return merge(counts, left.join());
+            }
+            
+            final int[] chunkCounts = new int[BYTE_SYMBOLS];
+            for (int i = from; i < to; i++) {
+                chunkCounts[data.get(i) & 0xFF]++;
+            }
+            
+            final long[] counts = new long[BYTE_SYMBOLS];
+            for (int symbol = 0; symbol < BYTE_SYMBOLS; symbol++) {
+                counts[symbol] = chunkCounts[symbol];
+            }
+            return counts;
+        }
+        
+    }
+    
+    private static class CharCountTask extends RecursiveTask<CharHistogram> {
+        
+        //Constants
+        
+        private static final long serialVersionUID = 1L;
+        
+        
+        //Fields
+        
+        private final CharSequence data;
+        
+        private final int from;
+        
+        private final int to;
+        
+        
+        //Constructors
+        
+        private CharCountTask(CharSequence data, int from, int to) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+        }
+        
+        
+        //Methods
+        
+        @Override
+        protected CharHistogram compute() {
+            if ((to - from) > CHUNK_SIZE) {
+                final int middle = (from + to) >>> 1;
+                final CharCountTask left = new CharCountTask(data, from, middle);
+                left.fork();
+                final CharHistogram counts = new CharCountTask(data, middle, to).compute();
+                return counts.merge(left.join());
+            }
+            
+            //size the histogram to the characters in this chunk, rather than the whole char range
+            int first = Character.MAX_VALUE;
+            int last = 0;
+            for (int i = from; i < to; i++) {
+                final char symbol = data.charAt(i);
+                first = Math.min(first, symbol);
+                last = Math.max(last, symbol);
+            }
+            if (first > last) {
+                return new CharHistogram(0, new long[0]);
+            }
+            
+            final long[] counts = new long[last - first + 1];
+            for (int i = from; i < to; i++) {
+                counts[data.charAt(i) - first]++;
+            }
+            return new CharHistogram(first, counts);
+        }
+        
+    }
+    
+    private static final class CharHistogram {
+        
+        //Fields
+        
+        private final int first;
+        
+        private final long[] counts;
+        
+        
+        //Constructors
+        
+        private CharHistogram(int first, long[] counts) {
+            this.first = first;
+            this.counts = counts;
+        }
+        
+        
+        //Methods
+        
+        private CharHistogram merge(CharHistogram other) {
+            if (other.counts.length == 0) {
+                return this;
+            }
+            if (counts.length == 0) {
+                return other;
+            }
+            
+            final int mergedFirst = Math.min(first, other.first);
+            final int mergedLast = Math.max((first + counts.length), (other.first + other.counts.length));
+            final CharHistogram merged = ((mergedFirst == first) && (mergedLast == (first + counts.length))) ? this :
+                                         new CharHistogram(mergedFirst, new long[mergedLast - mergedFirst]);
+            if (merged != this) {
+                System.arraycopy(counts, 0, merged.counts, (first - mergedFirst), counts.length);
+            }
+            for (int i = 0; i < other.counts.length; i++) {
+                merged.counts[other.first - mergedFirst + i] += other.counts[i];
+            }
+            return merged;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,116 @@
+/*
+ * File:    BitReader.java
+ * Package: main.util
+ * Author:  Zachary Gill
+ */
+
+package main.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class BitReader implements Closeable {
+    
+    //Constants
+    
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    
+    public static final int MAX_PEEK_BITS = Long.SIZE - Byte.SIZE;
+    
+    
+    //Fields
+    
+    public final InputStream in;
+    
+    public final byte[] buffer;
+    
+    public int position = 0;
+    
+    public int limit = 0;
+    
+    public long bitBuffer = 0L;
+    
+    public int bitCount = 0;
+    
+    
+    //Constructors
+    
+    public BitReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[bufferSize];
+    }
+    
+    public BitReader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+    
+    
+    //Methods
+    
+    public int readBit() throws IOException {
+        if (bitCount == 0) {
+            final int next = nextByte();
+            if (next < 0) {
+                throw new EOFException("Unexpected end of bit stream");
+            }
+            bitBuffer = next;
+            bitCount = 8;
+        }
+        return (int) ((bitBuffer >>> --bitCount) & 1L);
+    }
+    
+    public long peekBits(int length) throws IOException {
+        if ((length < 0) || (length > MAX_PEEK_BITS)) {
+            throw new IllegalArgumentException("Can not peek " + length + " bits at once");
+        }
+        
+        while (bitCount <= (Long.SIZE - Byte.SIZE)) {
+            final int next = nextByte();
+            if (next < 0) {
+                break;
+            }
+            bitBuffer = (bitBuffer << Byte.SIZE) | next;
+            bitCount += Byte.SIZE;
+        }
+        if (bitCount == 0) {
+            throw new EOFException("Unexpected end of bit stream");
+        }
+        
+        final long mask = (1L << length) - 1;
+        return (bitCount >= length) ?
+               ((bitBuffer >>> (bitCount - length)) & mask) :
+               ((bitBuffer << (length - bitCount)) & mask);
+    }
+    
+    public void skipBits(int length) {
+        bitCount = Math.max((bitCount - length), 0);
+    }
+    
+    public long readBits(int length) throws IOException {
+        long bits = 0L;
+        for (int i = 0; i < length; i++) {
+            bits = (bits << 1) | readBit();
+        }
+        return bits;
+    }
+    
+    private int nextByte() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++] & 0xFF;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+    
+}
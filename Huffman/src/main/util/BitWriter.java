@@ -0,0 +1,107 @@
+/*
+ * File:    BitWriter.java
+ * Package: main.util
+ * Author:  Zachary Gill
+ */
+
+package main.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class BitWriter implements Flushable, Closeable {
+    
+    //Constants
+    
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    
+    public static final int MAX_BITS = 57;
+    
+    
+    //Fields
+    
+    public final OutputStream out;
+    
+    public final byte[] buffer;
+    
+    public int position = 0;
+    
+    public long bitBuffer = 0L;
+    
+    public int bitCount = 0;
+    
+    public long bitsWritten = 0L;
+    
+    
+    //Constructors
+    
+    public BitWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+    
+    public BitWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+    
+    
+    //Methods
+    
+    public void writeBits(long bits, int length) throws IOException {
+        if ((length < 0) || (length > MAX_BITS)) {
+            throw new IllegalArgumentException("Can not write " + length + " bits at once");
+        }
+        
+        bitBuffer = (bitBuffer << length) | (bits & ((1L << length) - 1));
+        bitCount += length;
+        bitsWritten += length;
+        
+        while (bitCount >= 8) {
+            bitCount -= 8;
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) (bitBuffer >>> bitCount);
+        }
+    }
+    
+    public void writeBit(boolean bit) throws IOException {
+        writeBits((bit ? 1L : 0L), 1);
+    }
+    
+    public void finish() throws IOException {
+        if (bitCount > 0) {
+            writeBits(0L, (8 - bitCount));
+        }
+        flushBuffer();
+    }
+    
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+    
+    
+    //Getters
+    
+    public long getBitsWritten() {
+        return bitsWritten;
+    }
+    
+}
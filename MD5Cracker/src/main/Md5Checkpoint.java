@@ -0,0 +1,226 @@
+/*
+ * File:    Md5Checkpoint.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Md5Checkpoint {
+    
+    //Fields
+    
+    public final String charset;
+    
+    public final long frontier;
+    
+    public final List<long[]> workerRanges;
+    
+    public final List<long[]> pendingRanges;
+    
+    public final List<String> targets;
+    
+    public final Map<String, String> results;
+    
+    
+    //Constructors
+    
+    public Md5Checkpoint(String charset, long frontier, List<long[]> workerRanges, List<long[]> pendingRanges, List<String> targets, Map<String, String> results) {
+        this.charset = charset;
+        this.frontier = frontier;
+        this.workerRanges = workerRanges;
+        this.pendingRanges = pendingRanges;
+        this.targets = targets;
+        this.results = results;
+    }
+    
+    public Md5Checkpoint(String charset, long frontier) {
+        this(charset, frontier, new ArrayList<>(), new ArrayList<>(), null, new LinkedHashMap<>());
+    }
+    
+    
+    //Methods
+    
+    public List<long[]> getUnfinishedRanges() {
+        final List<long[]> unfinished = new ArrayList<>(pendingRanges);
+        for (long[] worker : workerRanges) {
+            if (worker[2] < worker[3]) {
+                unfinished.add(new long[] {worker[2], worker[3]});
+            }
+        }
+        return unfinished;
+    }
+    
+    public boolean isFor(Md5TargetSet targetSet) {
+        return (targets == null) || targets.equals(targetSet.getHashes());
+    }
+    
+    public String store() {
+        final StringBuilder data = new StringBuilder();
+        data.append("charset=").append(toHex(charset)).append(System.lineSeparator());
+        data.append("frontier=").append(frontier).append(System.lineSeparator());
+        for (long[] worker : workerRanges) {
+            data.append("worker=").append(worker[0]).append(',').append(worker[1]).append(',')
+                    .append(worker[2]).append(',').append(worker[3]).append(System.lineSeparator());
+        }
+        for (long[] pending : pendingRanges) {
+            data.append("pending=").append(pending[0]).append(',').append(pending[1]).append(System.lineSeparator());
+        }
+        if (targets != null) {
+            for (String target : targets) {
+                data.append("target=").append(target).append(System.lineSeparator());
+            }
+        }
+        for (Map.Entry<String, String> result : results.entrySet()) {
+            data.append("found=").append(result.getKey()).append(',').append(toHex(result.getValue())).append(System.lineSeparator());
+        }
+        return data.toString();
+    }
+    
+    public void write(File file) throws IOException {
+        final File tmp = new File(file.getPath() + ".tmp");
+        if ((file.getParentFile() != null) && !file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+            throw new IOException("Unable to create checkpoint directory: " + file.getParentFile());
+        }
+        
+        try (FileChannel channel = FileChannel.open(tmp.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(store().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    
+    //Getters
+    
+    public String getCharset() {
+        return charset;
+    }
+    
+    public long getFrontier() {
+        return frontier;
+    }
+    
+    public List<long[]> getWorkerRanges() {
+        return workerRanges;
+    }
+    
+    public List<long[]> getPendingRanges() {
+        return pendingRanges;
+    }
+    
+    public List<String> getTargets() {
+        return targets;
+    }
+    
+    public Map<String, String> getResults() {
+        return results;
+    }
+    
+    
+    //Static Methods
+    
+    public static Md5Checkpoint load(String data) {
+        String charset = null;
+        long frontier = 0L;
+        final List<long[]> workerRanges = new ArrayList<>();
+        final List<long[]> pendingRanges = new ArrayList<>();
+        final List<String> targets = new ArrayList<>();
+        final Map<String, String> results = new LinkedHashMap<>();
+        
+        for (String line : data.split("\\r?\\n")) {
+            final int split = line.indexOf('=');
+            if (split < 0) {
+                continue;
+            }
+            final String key = line.substring(0, split).trim();
+            final String value = line.substring(split + 1).trim();
+            switch (key) {
+                case "charset":
+                    charset = fromHex(value);
+                    break;
+                case "frontier":
+                    frontier = Long.parseLong(value);
+                    break;
+                case "worker":
+                    workerRanges.add(parseRange(value, 4));
+                    break;
+                case "pending":
+                    pendingRanges.add(parseRange(value, 2));
+                    break;
+                case "target":
+                    targets.add(value.toLowerCase());
+                    break;
+                case "found":
+                    final int comma = value.indexOf(',');
+                    if (comma < 0) {
+                        throw new IllegalArgumentException("Invalid checkpoint result: " + value);
+                    }
+                    results.put(value.substring(0, comma).toLowerCase(), fromHex(value.substring(comma + 1)));
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        if (charset == null) {
+            throw new IllegalArgumentException("Checkpoint does not specify a charset");
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("Checkpoint does not specify its targets");
+        }
+        targets.sort(null);
+        return new Md5Checkpoint(charset, frontier, workerRanges, pendingRanges, targets, results);
+    }
+    
+    public static Md5Checkpoint read(File file) throws IOException {
+        return load(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+    }
+    
+    private static long[] parseRange(String value, int size) {
+        final String[] parts = value.split(",");
+        if (parts.length != size) {
+            throw new IllegalArgumentException("Invalid checkpoint range: " + value);
+        }
+        
+        final long[] range = new long[size];
+        for (int i = 0; i < size; i++) {
+            range[i] = Long.parseLong(parts[i].trim());
+        }
+        return range;
+    }
+    
+    private static String toHex(String value) {
+        final StringBuilder hex = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+    
+    private static String fromHex(String hex) {
+        final byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring((i * 2), ((i * 2) + 2)), 16);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+}
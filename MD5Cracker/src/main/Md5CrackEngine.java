@@ -0,0 +1,459 @@
+/*
+ * File:    Md5CrackEngine.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+public class Md5CrackEngine {
+    
+    //Constants
+    
+    public static final int DIGEST_LENGTH = 16;
+    
+    public static final int BLOCK_SIZE = 1 << 20;
+    
+    private static final int COUNT_EVERY = 1 << 14;
+    
+    
+    //Fields
+    
+    private final byte[] charset;
+    
+    private final Md5TargetSet targets;
+    
+    private final int threads;
+    
+    private final int maxLength;
+    
+    private final long[] lengthOffsets;
+    
+    private final String charsetString;
+    
+    private long frontier = 0L;
+    
+    private final Deque<long[]> pendingRanges = new ArrayDeque<>();
+    
+    private final long[] workerStarts;
+    
+    private final long[] workerEnds;
+    
+    private final AtomicLongArray workerPositions;
+    
+    private final LongAdder attempts = new LongAdder();
+    
+    private final AtomicReference<String> result = new AtomicReference<>(null);
+    
+    private final Map<String, String> results = new ConcurrentHashMap<>();
+    
+    private volatile BiConsumer<String, String> listener = null;
+    
+    private volatile boolean finished = false;
+    
+    private ExecutorService executor = null;
+    
+    private final AtomicReference<Throwable> failure = new AtomicReference<>(null);
+    
+    private ScheduledExecutorService checkpointer = null;
+    
+    private File checkpointFile = null;
+    
+    private final Object checkpointLock = new Object();
+    
+    
+    //Constructors
+    
+    public Md5CrackEngine(String charset, Md5TargetSet targets, int threads) {
+        this.charsetString = charset;
+        this.charset = charset.getBytes(StandardCharsets.US_ASCII);
+        this.targets = targets;
+        this.threads = threads;
+        this.workerStarts = new long[threads];
+        this.workerEnds = new long[threads];
+        this.workerPositions = new AtomicLongArray(threads);
+        
+        //the keyspace is every length in order, as long as the global index still fits in a long
+        long offset = 0L;
+        long size = 1L;
+        int length = 0;
+        final long[] offsets = new long[Long.SIZE];
+        while ((length < (offsets.length - 1)) && (offset <= (Long.MAX_VALUE - size))) {
+            offsets[length++] = offset;
+            offset += size;
+            if (size > (Long.MAX_VALUE / this.charset.length)) {
+                break;
+            }
+            size *= this.charset.length;
+        }
+        offsets[length] = offset;
+        this.maxLength = length - 1;
+        this.lengthOffsets = new long[length + 1];
+        System.arraycopy(offsets, 0, this.lengthOffsets, 0, (length + 1));
+    }
+    
+    public Md5CrackEngine(String charset, Md5TargetSet targets) {
+        this(charset, targets, Runtime.getRuntime().availableProcessors());
+    }
+    
+    public Md5CrackEngine(String charset, String hash, int threads) {
+        this(charset, Md5TargetSet.of(hash), threads);
+    }
+    
+    public Md5CrackEngine(String charset, String hash) {
+        this(charset, Md5TargetSet.of(hash));
+    }
+    
+    
+    //Methods
+    
+    public synchronized void start(Md5Checkpoint checkpoint) {
+        if (executor != null) {
+            throw new IllegalStateException("The engine has already been started");
+        }
+        if (!checkpoint.getCharset().equals(charsetString)) {
+            throw new IllegalArgumentException("The checkpoint was created for a different charset");
+        }
+        if (!checkpoint.isFor(targets)) {
+            throw new IllegalArgumentException("The checkpoint was created for a different set of targets");
+        }
+        
+        frontier = checkpoint.getFrontier();
+        pendingRanges.addAll(checkpoint.getUnfinishedRanges());
+        for (Map.Entry<String, String> found : checkpoint.getResults().entrySet()) {
+            if (targets.markFound(found.getKey())) {
+                results.put(found.getKey(), found.getValue());
+                result.compareAndSet(null, found.getValue());
+            }
+        }
+        if (targets.getRemaining() == 0) {
+            finished = true;
+        }
+        
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "md5-worker");
+            thread.setUncaughtExceptionHandler((failedThread, e) -> fail(e));
+            return thread;
+        });
+        for (int worker = 0; worker < threads; worker++) {
+            final int workerId = worker;
+            executor.execute(() -> work(workerId));
+        }
+        executor.shutdown();
+    }
+    
+    public void start(long startIndex) {
+        start(new Md5Checkpoint(charsetString, startIndex));
+    }
+    
+    public synchronized void enableCheckpoints(File file, long interval, TimeUnit unit) {
+        checkpointFile = file;
+        checkpointer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "md5-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointer.scheduleWithFixedDelay(() -> {
+            try {
+                writeCheckpoint();
+            } catch (IOException e) {
+                System.err.println("Failed to write checkpoint: " + e.getMessage());
+            }
+        }, interval, interval, unit);
+    }
+    
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        final boolean terminated = executor.awaitTermination(timeout, unit);
+        if (terminated && (failure.get() != null)) {
+            throw new IllegalStateException("A worker failed and the search was stopped", failure.get());
+        }
+        return terminated;
+    }
+    
+    public void stop() throws IOException {
+        finished = true;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        close();
+    }
+    
+    public void close() throws IOException {
+        if (checkpointer != null) {
+            checkpointer.shutdown();
+            try {
+                checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeCheckpoint();
+        }
+    }
+    
+    public synchronized Md5Checkpoint snapshot() {
+        final List<long[]> workers = new ArrayList<>();
+        for (int worker = 0; worker < threads; worker++) {
+            if (workerStarts[worker] < workerEnds[worker]) {
+                workers.add(new long[] {worker, workerStarts[worker], workerPositions.get(worker), workerEnds[worker]});
+            }
+        }
+        return new Md5Checkpoint(charsetString, frontier, workers, new ArrayList<>(pendingRanges),
+                targets.getHashes(), new LinkedHashMap<>(results));
+    }
+    
+    private void writeCheckpoint() throws IOException {
+        if (checkpointFile == null) {
+            return;
+        }
+        
+        //once every target is found there is nothing to resume, so the checkpoint is removed
+        synchronized (checkpointLock) {
+            if (targets.getRemaining() == 0) {
+                Files.deleteIfExists(checkpointFile.toPath());
+            } else {
+                snapshot().write(checkpointFile);
+            }
+        }
+    }
+    
+    private synchronized boolean claim(int workerId) {
+        long start;
+        long end;
+        if (!pendingRanges.isEmpty()) {
+            final long[] range = pendingRanges.poll();
+            start = range[0];
+            end = range[1];
+        } else if (frontier < getKeyspaceSize()) {
+            start = frontier;
+            end = Math.min((frontier + BLOCK_SIZE), getKeyspaceSize());
+            frontier = end;
+        } else {
+            start = 0L;
+            end = 0L;
+        }
+        
+        workerStarts[workerId] = start;
+        workerEnds[workerId] = end;
+        workerPositions.set(workerId, start);
+        return (start < end);
+    }
+    
+    private void work(int workerId) {
+        final MessageDigest digest = newDigest();
+        final byte[] candidate = new byte[maxLength];
+        final int[] digits = new int[maxLength];
+        final byte[] hash = new byte[DIGEST_LENGTH];
+        
+        try {
+            while (!finished && claim(workerId)) {
+                final long blockEnd = workerEnds[workerId];
+                long index = workerStarts[workerId];
+                while ((index < blockEnd) && !finished) {
+                    final int length = lengthOf(index);
+                    final long segmentEnd = Math.min(blockEnd, lengthOffsets[length + 1]);
+                    setCandidate((index - lengthOffsets[length]), length, candidate, digits);
+                    
+                    long pending = 0L;
+                    while (index < segmentEnd) {
+                        digest.update(candidate, 0, length);
+                        digest.digest(hash, 0, DIGEST_LENGTH);
+                        final int slot = targets.find(hash);
+                        if ((slot >= 0) && targets.markFound(slot)) {
+                            found(slot, new String(candidate, 0, length, StandardCharsets.US_ASCII));
+                        }
+                        increment(candidate, digits, length);
+                        index++;
+                        
+                        if (++pending == COUNT_EVERY) {
+                            attempts.add(pending);
+                            pending = 0L;
+                            workerPositions.set(workerId, index);
+                            if (finished) {
+                                break;
+                            }
+                        }
+                    }
+                    attempts.add(pending);
+                    workerPositions.set(workerId, index);
+                }
+            }
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private void fail(Throwable e) {
+        //the failed worker's range stays in its slot, so the checkpoint still covers it and a resumed search repeats it
+        failure.compareAndSet(null, e);
+        finished = true;
+    }
+    
+    private void found(int slot, String text) {
+        final String hash = targets.hashAt(slot);
+        results.put(hash, text);
+        result.compareAndSet(null, text);
+        
+        final BiConsumer<String, String> foundListener = listener;
+        if (foundListener != null) {
+            foundListener.accept(hash, text);
+        }
+        if (targets.getRemaining() == 0) {
+            finished = true;
+        }
+    }
+    
+    private void setCandidate(long localIndex, int length, byte[] candidate, int[] digits) {
+        long remaining = localIndex;
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = (int) (remaining % charset.length);
+            candidate[i] = charset[digits[i]];
+            remaining /= charset.length;
+        }
+    }
+    
+    private void increment(byte[] candidate, int[] digits, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (++digits[i] < charset.length) {
+                candidate[i] = charset[digits[i]];
+                return;
+            }
+            digits[i] = 0;
+            candidate[i] = charset[0];
+        }
+    }
+    
+    private int lengthOf(long index) {
+        int length = 0;
+        while ((length < maxLength) && (index >= lengthOffsets[length + 1])) {
+            length++;
+        }
+        return length;
+    }
+    
+    public long indexOf(String candidate) {
+        final int length = candidate.length();
+        if (length > maxLength) {
+            throw new IllegalArgumentException("Candidate is longer than the keyspace: " + candidate);
+        }
+        
+        long index = 0L;
+        for (int i = 0; i < length; i++) {
+            final int digit = indexOfChar(candidate.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Candidate contains a character outside the charset: " + candidate);
+            }
+            index = (index * charset.length) + digit;
+        }
+        return lengthOffsets[length] + index;
+    }
+    
+    public String candidateAt(long index) {
+        final int length = lengthOf(index);
+        final byte[] candidate = new byte[length];
+        setCandidate((index - lengthOffsets[length]), length, candidate, new int[length]);
+        return new String(candidate, StandardCharsets.US_ASCII);
+    }
+    
+    private int indexOfChar(char c) {
+        for (int i = 0; i < charset.length; i++) {
+            if (charset[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    
+    //Getters
+    
+    public long getAttempts() {
+        return attempts.sum();
+    }
+    
+    public String getResult() {
+        return result.get();
+    }
+    
+    public Map<String, String> getResults() {
+        return results;
+    }
+    
+    public Md5TargetSet getTargets() {
+        return targets;
+    }
+    
+    public long getKeyspaceSize() {
+        return lengthOffsets[maxLength + 1];
+    }
+    
+    public Throwable getFailure() {
+        return failure.get();
+    }
+    
+    public boolean isFinished() {
+        return finished;
+    }
+    
+    public String getCharset() {
+        return charsetString;
+    }
+    
+    
+    //Setters
+    
+    public void setListener(BiConsumer<String, String> listener) {
+        this.listener = listener;
+    }
+    
+    
+    //Static Methods
+    
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    public static byte[] parseHash(String hash) {
+        if (hash.length() != (DIGEST_LENGTH * 2)) {
+            throw new IllegalArgumentException("Invalid MD5 hash: " + hash);
+        }
+        
+        final byte[] bytes = new byte[DIGEST_LENGTH];
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            final int high = Character.digit(hash.charAt(i * 2), 16);
+            final int low = Character.digit(hash.charAt((i * 2) + 1), 16);
+            if ((high < 0) || (low < 0)) {
+                throw new IllegalArgumentException("Invalid MD5 hash: " + hash);
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+    
+}
@@ -7,15 +7,17 @@
 package main;
 
 import java.io.File;
-import java.math.BigInteger;
-import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 
 public class Md5Cracker {
     
     private static final File SAVE = new File("log/save.txt");
-    private static final int SAVE_EVERY = 10000000;
+    private static final File CHECKPOINT = new File("log/checkpoint.txt");
+    private static final long CHECKPOINT_INTERVAL = 2000L;
+    private static final long REPORT_INTERVAL = 10000L;
     
     private static final String SEARCH_1 = " ABCDEFGHIJKLMNOPQRSTUVWXYZ";
     private static final String SEARCH_2 = SEARCH_1 + "abcdefghijklmnopqrstuvwxyz";
@@ -23,55 +25,77 @@ public class Md5Cracker {
     private static final String SEARCH_4 = SEARCH_3 + "!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~";
     
     private static final String VALID_CHARS = SEARCH_3;
-    private static final char FIRST_CHAR = VALID_CHARS.charAt(0);
-    private static final char LAST_CHAR = VALID_CHARS.charAt(VALID_CHARS.length() - 1);
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
     
     
     public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            final Map<String, String> found = crackAll(new File(args[0]));
+            System.out.println("Found " + found.size() + " targets");
+            return;
+        }
+        
         final String text = crack("75170fc230cd88f82e475ff4087f81d9");
         System.out.println(text);
-        writeSave(text);
+        if (text != null) {
+            writeSave(text);
+        }
     }
     
     private static String crack(String hash) throws Exception {
-        final MessageDigest digest = MessageDigest.getInstance("MD5");
-        String test = readSave();
+        return run(new Md5CrackEngine(VALID_CHARS, hash, THREADS)).getResult();
+    }
     
-        while (true) {
-            long startBatch = System.currentTimeMillis();
-            for (int i = 0; i < SAVE_EVERY; i++) {
-                final String md5 = md5(digest, test);
-                if (md5.equalsIgnoreCase(hash)) {
-                    return test;
-                }
-                test = nextTest(test);
-            }
-            long endBatch = System.currentTimeMillis();
-            System.out.println(((long) (SAVE_EVERY / ((endBatch - startBatch) / 1000.0)) / 1000000.0) + " Mh/s"  );
-            writeSave(test);
-        }
+    private static Map<String, String> crackAll(File targetFile) throws Exception {
+        final Md5TargetSet targets = Md5TargetSet.load(targetFile);
+        System.out.println("Loaded " + targets.size() + " targets");
+        
+        final Md5CrackEngine engine = new Md5CrackEngine(VALID_CHARS, targets, THREADS);
+        engine.setListener((hash, text) ->
+                System.out.println(hash + " : " + text + " (" + targets.getRemaining() + " remaining)"));
+        return run(engine).getResults();
     }
     
-    private static String md5(MessageDigest digest, String test) throws Exception {
-        digest.reset();
-        digest.update(test.getBytes(), 0, test.length());
-        return new BigInteger(1, digest.digest()).toString(16);
+    private static Md5CrackEngine run(Md5CrackEngine engine) throws Exception {
+        engine.enableCheckpoints(CHECKPOINT, CHECKPOINT_INTERVAL, TimeUnit.MILLISECONDS);
+        engine.start(readCheckpoint(engine));
+        
+        final Thread shutdownHook = new Thread(() -> {
+            try {
+                engine.stop();
+            } catch (Exception e) {
+                System.err.println("Failed to write checkpoint: " + e.getMessage());
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        
+        try {
+            long lastAttempts = 0L;
+            long lastTime = System.currentTimeMillis();
+            while (!engine.await(REPORT_INTERVAL, TimeUnit.MILLISECONDS)) {
+                final long attempts = engine.getAttempts();
+                final long time = System.currentTimeMillis();
+                System.out.println((((attempts - lastAttempts) / ((time - lastTime) / 1000.0)) / 1000000.0) + " Mh/s");
+                lastAttempts = attempts;
+                lastTime = time;
+            }
+            
+        } finally {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            engine.close();
+        }
+        return engine;
     }
     
-    private static String nextTest(String test) throws Exception {
-        boolean hit = false;
-        char[] chars = test.toCharArray();
-        for (int i = chars.length - 1; i >= 0; i--) {
-            if (chars[i] != LAST_CHAR) {
-                chars[i] = VALID_CHARS.charAt(VALID_CHARS.indexOf(chars[i]) + 1);
-                for (int j = i + 1; j < chars.length; j++) {
-                    chars[j] = FIRST_CHAR;
-                }
-                hit = true;
-                break;
+    private static Md5Checkpoint readCheckpoint(Md5CrackEngine engine) throws Exception {
+        if (CHECKPOINT.exists()) {
+            final Md5Checkpoint checkpoint = Md5Checkpoint.read(CHECKPOINT);
+            if (checkpoint.isFor(engine.getTargets()) && checkpoint.getCharset().equals(engine.getCharset())) {
+                return checkpoint;
             }
+            System.out.println("Ignoring checkpoint for a different search: " + CHECKPOINT.getPath());
         }
-        return hit ? new String(chars) : String.valueOf(FIRST_CHAR).repeat(test.length() + 1);
+        return new Md5Checkpoint(engine.getCharset(), engine.indexOf(readSave()));
     }
     
     private static String readSave() throws Exception {
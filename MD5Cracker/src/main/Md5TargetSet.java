@@ -0,0 +1,183 @@
+/*
+ * File:    Md5TargetSet.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class Md5TargetSet {
+    
+    //Constants
+    
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+    
+    
+    //Fields
+    
+    private final long[] highs;
+    
+    private final long[] lows;
+    
+    private final boolean[] used;
+    
+    private final AtomicIntegerArray found;
+    
+    private final AtomicInteger remaining;
+    
+    private final int mask;
+    
+    private final int shift;
+    
+    private final int size;
+    
+    
+    //Constructors
+    
+    public Md5TargetSet(List<byte[]> digests) {
+        if (digests.isEmpty()) {
+            throw new IllegalArgumentException("No MD5 targets were specified");
+        }
+        
+        int capacity = 2;
+        while (capacity < (digests.size() * 2)) {
+            capacity <<= 1;
+        }
+        
+        this.highs = new long[capacity];
+        this.lows = new long[capacity];
+        this.used = new boolean[capacity];
+        this.found = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        
+        int count = 0;
+        for (byte[] digest : digests) {
+            if (digest.length != Md5CrackEngine.DIGEST_LENGTH) {
+                throw new IllegalArgumentException("Invalid MD5 digest length: " + digest.length);
+            }
+            if (insert((long) LONG_VIEW.get(digest, 0), (long) LONG_VIEW.get(digest, Long.BYTES))) {
+                count++;
+            }
+        }
+        this.size = count;
+        this.remaining = new AtomicInteger(count);
+    }
+    
+    
+    //Methods
+    
+    private boolean insert(long high, long low) {
+        int slot = slotOf(high);
+        while (used[slot]) {
+            if ((highs[slot] == high) && (lows[slot] == low)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        highs[slot] = high;
+        lows[slot] = low;
+        return true;
+    }
+    
+    public int find(byte[] digest) {
+        final long high = (long) LONG_VIEW.get(digest, 0);
+        int slot = slotOf(high);
+        while (used[slot]) {
+            if ((highs[slot] == high) && (lows[slot] == (long) LONG_VIEW.get(digest, Long.BYTES))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+    
+    public boolean markFound(int slot) {
+        if (found.compareAndSet(slot, 0, 1)) {
+            remaining.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+    
+    public boolean markFound(String hash) {
+        final int slot = find(Md5CrackEngine.parseHash(hash));
+        return (slot >= 0) && markFound(slot);
+    }
+    
+    public String hashAt(int slot) {
+        final byte[] digest = new byte[Md5CrackEngine.DIGEST_LENGTH];
+        LONG_VIEW.set(digest, 0, highs[slot]);
+        LONG_VIEW.set(digest, Long.BYTES, lows[slot]);
+        
+        final StringBuilder hash = new StringBuilder();
+        for (byte b : digest) {
+            hash.append(String.format("%02x", b));
+        }
+        return hash.toString();
+    }
+    
+    private int slotOf(long high) {
+        return (int) ((high * MIX) >>> shift) & mask;
+    }
+    
+    
+    //Getters
+    
+    public int size() {
+        return size;
+    }
+    
+    public int getRemaining() {
+        return remaining.get();
+    }
+    
+    public List<String> getHashes() {
+        final List<String> hashes = new ArrayList<>();
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot]) {
+                hashes.add(hashAt(slot));
+            }
+        }
+        hashes.sort(null);
+        return hashes;
+    }
+    
+    
+    //Static Methods
+    
+    public static Md5TargetSet of(String... hashes) {
+        final List<byte[]> digests = new ArrayList<>();
+        for (String hash : hashes) {
+            digests.add(Md5CrackEngine.parseHash(hash));
+        }
+        return new Md5TargetSet(digests);
+    }
+    
+    public static Md5TargetSet load(File file) throws IOException {
+        final List<byte[]> digests = new ArrayList<>();
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            final String hash = line.trim();
+            if (!hash.isEmpty() && !hash.startsWith("#")) {
+                digests.add(Md5CrackEngine.parseHash(hash));
+            }
+        }
+        return new Md5TargetSet(digests);
+    }
+    
+}
@@ -0,0 +1,248 @@
+/*
+ * File:    HammingIndex.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class HammingIndex<V> {
+    
+    //Constants
+    
+    public static final int CHUNK_BITS = 16;
+    
+    private static final int CHUNK_VALUES = 1 << CHUNK_BITS;
+    
+    private static final int CHUNK_MASK = CHUNK_VALUES - 1;
+    
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    
+    
+    //Fields
+    
+    private final int bitResolution;
+    
+    private final int words;
+    
+    private final int chunks;
+    
+    private long[] bits;
+    
+    private Object[] values;
+    
+    private int size;
+    
+    private volatile Table table;
+    
+    
+    //Constructors
+    
+    public HammingIndex(int bitResolution) {
+        if (bitResolution <= 0) {
+            throw new IllegalArgumentException("Bit resolution must be positive: " + bitResolution);
+        }
+        
+        this.bitResolution = bitResolution;
+        this.words = (bitResolution + (Long.SIZE - 1)) / Long.SIZE;
+        this.chunks = (bitResolution + (CHUNK_BITS - 1)) / CHUNK_BITS;
+        this.bits = new long[INITIAL_CAPACITY * words];
+        this.values = new Object[INITIAL_CAPACITY];
+        this.size = 0;
+        this.table = null;
+    }
+    
+    
+    //Methods
+    
+    public synchronized void add(long[] hash, V value) {
+        if (hash.length != words) {
+            throw new IllegalArgumentException("Hash has " + hash.length + " words, expected " + words);
+        }
+        
+        if (size == values.length) {
+            bits = Arrays.copyOf(bits, (size * 2 * words));
+            values = Arrays.copyOf(values, (size * 2));
+        }
+        System.arraycopy(hash, 0, bits, (size * words), words);
+        values[size++] = value;
+        table = null;
+    }
+    
+    public List<Match<V>> query(long[] hash, int maxDistance) {
+        if (hash.length != words) {
+            throw new IllegalArgumentException("Hash has " + hash.length + " words, expected " + words);
+        }
+        
+        final Table current = table();
+        final List<Match<V>> matches = new ArrayList<>();
+        if (maxDistance < 0) {
+            return matches;
+        }
+        
+        //if the hashes differ by at most maxDistance bits, then at least one chunk differs by at most radius bits
+        final int radius = maxDistance / chunks;
+        final int[] keys = new int[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            keys[chunk] = chunkOf(hash, 0, chunk);
+        }
+        
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            probe(current, hash, keys, chunk, keys[chunk], 0, radius, maxDistance, matches);
+        }
+        return matches;
+    }
+    
+    private void probe(Table current, long[] hash, int[] keys, int chunk, int key, int nextBit, int remaining, int maxDistance, List<Match<V>> matches) {
+        final int[] offsets = current.offsets[chunk];
+        for (int i = offsets[key]; i < offsets[key + 1]; i++) {
+            final int id = current.ids[chunk][i];
+            
+            //each candidate is only reported from the first chunk that could have found it
+            if (foundEarlier(current, id, keys, chunk, maxDistance / chunks)) {
+                continue;
+            }
+            
+            final int distance = distance(current, id, hash);
+            if (distance <= maxDistance) {
+                matches.add(new Match<>(valueAt(current, id), distance));
+            }
+        }
+        
+        if (remaining > 0) {
+            final int chunkWidth = Math.min(CHUNK_BITS, (bitResolution - (chunk * CHUNK_BITS)));
+            for (int bit = nextBit; bit < chunkWidth; bit++) {
+                probe(current, hash, keys, chunk, (key ^ (1 << bit)), (bit + 1), (remaining - 1), maxDistance, matches);
+            }
+        }
+    }
+    
+    private boolean foundEarlier(Table current, int id, int[] keys, int chunk, int radius) {
+        for (int earlier = 0; earlier < chunk; earlier++) {
+            if (Integer.bitCount(chunkOf(current.bits, id, earlier) ^ keys[earlier]) <= radius) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private int distance(Table current, int id, long[] hash) {
+        final int base = id * words;
+        int distance = 0;
+        for (int i = 0; i < words; i++) {
+            distance += Long.bitCount(current.bits[base + i] ^ hash[i]);
+        }
+        return distance;
+    }
+    
+    private int chunkOf(long[] source, int id, int chunk) {
+        final int bit = chunk * CHUNK_BITS;
+        return (int) (source[(id * words) + (bit / Long.SIZE)] >>> (bit % Long.SIZE)) & CHUNK_MASK;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private V valueAt(Table current, int id) {
+        return (V) current.values[id];
+    }
+    
+    private Table table() {
+        Table current = table;
+        if (current == null) {
+            synchronized (this) {
+                current = table;
+                if (current == null) {
+                    current = build();
+                    table = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    private Table build() {
+        final long[] snapshotBits = Arrays.copyOf(bits, (size * words));
+        final int[][] offsets = new int[chunks][];
+        final int[][] ids = new int[chunks][];
+        
+        //counting sort the ids of each chunk by their chunk value
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            final int[] chunkOffsets = new int[CHUNK_VALUES + 1];
+            for (int id = 0; id < size; id++) {
+                chunkOffsets[chunkOf(snapshotBits, id, chunk) + 1]++;
+            }
+            for (int key = 0; key < CHUNK_VALUES; key++) {
+                chunkOffsets[key + 1] += chunkOffsets[key];
+            }
+            
+            final int[] chunkIds = new int[size];
+            final int[] next = Arrays.copyOf(chunkOffsets, CHUNK_VALUES);
+            for (int id = 0; id < size; id++) {
+                chunkIds[next[chunkOf(snapshotBits, id, chunk)]++] = id;
+            }
+            offsets[chunk] = chunkOffsets;
+            ids[chunk] = chunkIds;
+        }
+        return new Table(snapshotBits, Arrays.copyOf(values, size), offsets, ids);
+    }
+    
+    
+    //Getters
+    
+    public int getBitResolution() {
+        return bitResolution;
+    }
+    
+    public synchronized int size() {
+        return size;
+    }
+    
+    
+    //Inner Classes
+    
+    public static class Match<V> {
+        
+        //Fields
+        
+        public final V value;
+        
+        public final int distance;
+        
+        
+        //Constructors
+        
+        public Match(V value, int distance) {
+            this.value = value;
+            this.distance = distance;
+        }
+        
+    }
+    
+    private static class Table {
+        
+        //Fields
+        
+        private final long[] bits;
+        
+        private final Object[] values;
+        
+        private final int[][] offsets;
+        
+        private final int[][] ids;
+        
+        
+        //Constructors
+        
+        private Table(long[] bits, Object[] values, int[][] offsets, int[][] ids) {
+            this.bits = bits;
+            this.values = values;
+            this.offsets = offsets;
+            this.ids = ids;
+        }
+        
+    }
+    
+}
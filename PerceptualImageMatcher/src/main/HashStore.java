@@ -0,0 +1,274 @@
+/*
+ * File:    HashStore.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import dev.brachtendorf.jimagehash.hash.Hash;
+import dev.brachtendorf.jimagehash.hashAlgorithms.HashingAlgorithm;
+
+public class HashStore implements Closeable {
+    
+    //Constants
+    
+    private static final int MAGIC = 0x50494D48;
+    
+    private static final int VERSION = 1;
+    
+    private static final int KEY_BYTES = 3 * Long.BYTES;
+    
+    private static final int INITIAL_RECORDS = 1 << 12;
+    
+    
+    //Fields
+    
+    private final File file;
+    
+    private final int[] algorithmIds;
+    
+    private final int[] bitResolutions;
+    
+    private final int[] words;
+    
+    private final int headerBytes;
+    
+    private final int recordBytes;
+    
+    private final RandomAccessFile access;
+    
+    private MappedByteBuffer buffer;
+    
+    private int capacity;
+    
+    private int count;
+    
+    private final Map<Long, Integer> records = new HashMap<>();
+    
+    
+    //Constructors
+    
+    public HashStore(File file, HashingAlgorithm... hashers) throws IOException {
+        this.file = file;
+        this.algorithmIds = new int[hashers.length];
+        this.bitResolutions = new int[hashers.length];
+        this.words = new int[hashers.length];
+        int hashBytes = 0;
+        for (int i = 0; i < hashers.length; i++) {
+            algorithmIds[i] = hashers[i].algorithmId();
+            bitResolutions[i] = hashers[i].getKeyResolution();
+            words[i] = (bitResolutions[i] + (Long.SIZE - 1)) / Long.SIZE;
+            hashBytes += words[i] * Long.BYTES;
+        }
+        this.headerBytes = (3 * Integer.BYTES) + (hashers.length * 2 * Integer.BYTES) + Integer.BYTES;
+        this.recordBytes = KEY_BYTES + hashBytes;
+        
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if ((parent != null) && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory: " + parent.getAbsolutePath());
+        }
+        this.access = new RandomAccessFile(file, "rw");
+        
+        if (!load()) {
+            map(INITIAL_RECORDS);
+            writeHeader();
+        }
+    }
+    
+    
+    //Methods
+    
+    public synchronized Hash[] get(File image) {
+        final Integer record = records.get(keyOf(image));
+        if (record == null) {
+            return null;
+        }
+        
+        //an image that was modified since it was hashed invalidates its record
+        int position = headerBytes + (record * recordBytes) + Long.BYTES;
+        if ((buffer.getLong(position) != image.length()) || (buffer.getLong(position + Long.BYTES) != image.lastModified())) {
+            return null;
+        }
+        position += 2 * Long.BYTES;
+        
+        final Hash[] hashes = new Hash[algorithmIds.length];
+        for (int i = 0; i < algorithmIds.length; i++) {
+            final byte[] magnitude = new byte[words[i] * Long.BYTES];
+            for (int word = 0; word < words[i]; word++) {
+                final long bits = buffer.getLong(position + (word * Long.BYTES));
+                for (int b = 0; b < Long.BYTES; b++) {
+                    magnitude[magnitude.length - 1 - (word * Long.BYTES) - b] = (byte) (bits >>> (b * Byte.SIZE));
+                }
+            }
+            hashes[i] = new Hash(new BigInteger(1, magnitude), bitResolutions[i], algorithmIds[i]);
+            position += words[i] * Long.BYTES;
+        }
+        return hashes;
+    }
+    
+    public synchronized void put(File image, long size, long lastModified, Hash... hashes) throws IOException {
+        if (hashes.length != algorithmIds.length) {
+            throw new IllegalArgumentException("Expected " + algorithmIds.length + " hashes, found " + hashes.length);
+        }
+        
+        if (count == capacity) {
+            map(capacity * 2);
+        }
+        
+        final long key = keyOf(image);
+        int position = headerBytes + (count * recordBytes);
+        buffer.putLong(position, key);
+        buffer.putLong(position + Long.BYTES, size);
+        buffer.putLong(position + (2 * Long.BYTES), lastModified);
+        position += KEY_BYTES;
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i].getAlgorithmId() != algorithmIds[i]) {
+                throw new IllegalArgumentException("Hash " + i + " was not produced by algorithm " + algorithmIds[i]);
+            }
+            final BigInteger value = hashes[i].getHashValue();
+            for (int word = 0; word < words[i]; word++) {
+                buffer.putLong(position + (word * Long.BYTES), value.shiftRight(word * Long.SIZE).longValue());
+            }
+            position += words[i] * Long.BYTES;
+        }
+        
+        //the count is only advanced once the record is complete, so a torn append is never read back
+        records.put(key, count);
+        buffer.putInt(headerBytes - Integer.BYTES, ++count);
+    }
+    
+    public synchronized void retainAll(Collection<File> images) {
+        final Set<Long> keys = new HashSet<>();
+        for (File image : images) {
+            keys.add(keyOf(image));
+        }
+        records.keySet().retainAll(keys);
+    }
+    
+    public synchronized void compact() {
+        if (records.size() == count) {
+            return;
+        }
+        
+        //records only ever move towards the start of the file, so they can be slid in place in their original order
+        final boolean[] live = new boolean[count];
+        for (int record : records.values()) {
+            live[record] = true;
+        }
+        final byte[] scratch = new byte[recordBytes];
+        int kept = 0;
+        for (int record = 0; record < count; record++) {
+            if (!live[record]) {
+                continue;
+            }
+            if (kept != record) {
+                buffer.get((headerBytes + (record * recordBytes)), scratch);
+                buffer.put((headerBytes + (kept * recordBytes)), scratch);
+                records.put(buffer.getLong(headerBytes + (kept * recordBytes)), kept);
+            }
+            kept++;
+        }
+        count = kept;
+        buffer.putInt(headerBytes - Integer.BYTES, count);
+    }
+    
+    @Override
+    public synchronized void close() throws IOException {
+        if ((count - records.size()) >= Math.max(records.size(), 1)) {
+            compact();
+        }
+        buffer.force();
+        access.close();
+    }
+    
+    private boolean load() throws IOException {
+        final long length = access.length();
+        if (length < headerBytes) {
+            return false;
+        }
+        
+        map((int) Math.max(INITIAL_RECORDS, ((length - headerBytes) / recordBytes)));
+        if ((buffer.getInt(0) != MAGIC) || (buffer.getInt(Integer.BYTES) != VERSION) ||
+                (buffer.getInt(2 * Integer.BYTES) != algorithmIds.length)) {
+            return resetLayout();
+        }
+        for (int i = 0; i < algorithmIds.length; i++) {
+            final int position = (3 + (i * 2)) * Integer.BYTES;
+            if ((buffer.getInt(position) != algorithmIds[i]) || (buffer.getInt(position + Integer.BYTES) != bitResolutions[i])) {
+                return resetLayout();
+            }
+        }
+        
+        count = Math.min(buffer.getInt(headerBytes - Integer.BYTES), capacity);
+        for (int record = 0; record < count; record++) {
+            records.put(buffer.getLong(headerBytes + (record * recordBytes)), record);
+        }
+        return true;
+    }
+    
+    private boolean resetLayout() {
+        count = 0;
+        records.clear();
+        writeHeader();
+        return true;
+    }
+    
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(Integer.BYTES, VERSION);
+        buffer.putInt(2 * Integer.BYTES, algorithmIds.length);
+        for (int i = 0; i < algorithmIds.length; i++) {
+            final int position = (3 + (i * 2)) * Integer.BYTES;
+            buffer.putInt(position, algorithmIds[i]);
+            buffer.putInt(position + Integer.BYTES, bitResolutions[i]);
+        }
+        buffer.putInt(headerBytes - Integer.BYTES, count);
+    }
+    
+    private void map(int records) throws IOException {
+        final long size = headerBytes + ((long) records * recordBytes);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Hash store: " + file.getAbsolutePath() + " cannot hold " + records + " records");
+        }
+        buffer = access.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        capacity = records;
+    }
+    
+    
+    //Getters
+    
+    public File getFile() {
+        return file;
+    }
+    
+    public synchronized int size() {
+        return records.size();
+    }
+    
+    
+    //Static Methods
+    
+    private static long keyOf(File image) {
+        final String path = image.getAbsolutePath();
+        long key = 0xCBF29CE484222325L;
+        for (int i = 0; i < path.length(); i++) {
+            key = (key ^ path.charAt(i)) * 0x100000001B3L;
+        }
+        return key;
+    }
+    
+}
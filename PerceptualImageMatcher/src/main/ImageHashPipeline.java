@@ -0,0 +1,180 @@
+/*
+ * File:    ImageHashPipeline.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+
+import dev.brachtendorf.jimagehash.hash.Hash;
+import dev.brachtendorf.jimagehash.hashAlgorithms.HashingAlgorithm;
+
+public class ImageHashPipeline {
+    
+    //Constants
+    
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    
+    
+    //Fields
+    
+    private final HashingAlgorithm perceptiveHasher;
+    
+    private final HashingAlgorithm averageHasher;
+    
+    private final int threads;
+    
+    private HashStore store = null;
+    
+    private boolean printProgress = false;
+    
+    
+    //Constructors
+    
+    public ImageHashPipeline(HashingAlgorithm perceptiveHasher, HashingAlgorithm averageHasher, int threads) {
+        this.perceptiveHasher = perceptiveHasher;
+        this.averageHasher = averageHasher;
+        this.threads = Math.max(1, threads);
+    }
+    
+    public ImageHashPipeline(HashingAlgorithm perceptiveHasher, HashingAlgorithm averageHasher) {
+        this(perceptiveHasher, averageHasher, DEFAULT_THREADS);
+    }
+    
+    
+    //Methods
+    
+    public HashedImage[] hashAll(List<File> images) throws Exception {
+        final HashedImage[] results = new HashedImage[images.size()];
+        final AtomicInteger hashed = new AtomicInteger(0);
+        
+        //the bounded queue keeps at most a few decoded images in flight, and the caller hashes when it is full
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 2), new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            final List<Future<?>> tasks = new ArrayList<>(images.size());
+            for (int i = 0; i < images.size(); i++) {
+                final int index = i;
+                tasks.add(executor.submit(() -> {
+                    results[index] = hash(images.get(index));
+                    final int count = hashed.incrementAndGet();
+                    if (printProgress && ((count % 100 == 0) || (count == images.size()))) {
+                        System.out.print("\rHashed " + count + " / " + images.size());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+    
+    public HashedImage hash(File image) throws IOException {
+        if (store != null) {
+            final Hash[] cached = store.get(image);
+            if (cached != null) {
+                return new HashedImage(image, cached[0], cached[1]);
+            }
+        }
+        
+        final long size = image.length();
+        final long lastModified = image.lastModified();
+        
+        //decode once and feed the same pixels to both algorithms
+        final BufferedImage decoded = ImageIO.read(image);
+        if (decoded == null) {
+            throw new IOException("Could not decode image: " + image.getAbsolutePath());
+        }
+        final Hash perceptiveHash = perceptiveHasher.hash(decoded);
+        final Hash averageHash = averageHasher.hash(decoded);
+        
+        if (store != null) {
+            store.put(image, size, lastModified, perceptiveHash, averageHash);
+        }
+        return new HashedImage(image, perceptiveHash, averageHash);
+    }
+    
+    
+    //Getters
+    
+    public int getThreads() {
+        return threads;
+    }
+    
+    public HashStore getStore() {
+        return store;
+    }
+    
+    
+    //Setters
+    
+    public void setStore(HashStore store) {
+        this.store = store;
+    }
+    
+    public void setPrintProgress(boolean printProgress) {
+        this.printProgress = printProgress;
+    }
+    
+    
+    //Static Methods
+    
+    public static long[] toBits(Hash hash) {
+        final BigInteger value = hash.getHashValue();
+        final long[] bits = new long[(hash.getBitResolution() + (Long.SIZE - 1)) / Long.SIZE];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = value.shiftRight(i * Long.SIZE).longValue();
+        }
+        return bits;
+    }
+    
+    
+    //Inner Classes
+    
+    public static class HashedImage {
+        
+        //Fields
+        
+        public final File image;
+        
+        public final Hash perceptiveHash;
+        
+        public final Hash averageHash;
+        
+        public final long[] perceptiveBits;
+        
+        
+        //Constructors
+        
+        public HashedImage(File image, Hash perceptiveHash, Hash averageHash) {
+            this.image = image;
+            this.perceptiveHash = perceptiveHash;
+            this.averageHash = averageHash;
+            this.perceptiveBits = toBits(perceptiveHash);
+        }
+        
+    }
+    
+}
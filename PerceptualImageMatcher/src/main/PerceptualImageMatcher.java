@@ -10,17 +10,13 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
 import java.util.stream.Collectors;
 import javax.imageio.ImageIO;
 
-import dev.brachtendorf.jimagehash.datastructures.tree.Result;
-import dev.brachtendorf.jimagehash.datastructures.tree.binaryTree.BinaryTree;
 import dev.brachtendorf.jimagehash.hash.Hash;
 import dev.brachtendorf.jimagehash.hashAlgorithms.AverageHash;
 import dev.brachtendorf.jimagehash.hashAlgorithms.HashingAlgorithm;
@@ -48,6 +44,12 @@ public class PerceptualImageMatcher {
     
     private static boolean relocateMatches = true;
     
+    private static int hashThreads = Runtime.getRuntime().availableProcessors();
+    
+    private static int maxHammingDistance = 10;
+    
+    private static double maxAverageHashDistance = 0.3;
+    
     
     //Main Method
     
@@ -118,57 +120,57 @@ public class PerceptualImageMatcher {
     }
     
     private static void testMatchingTree(List<File> images) throws Exception {
-        BinaryTree<File> tree = new BinaryTree<>(true);
-        Map<File, Hash> hashes = new LinkedHashMap<>();
+        HashingAlgorithm perceptiveHasher = new PerceptiveHash(64);
+        perceptiveHasher.setOpaqueHandling(253);
+        HashingAlgorithm averageHasher = new AverageHash(64);
+        averageHasher.setOpaqueHandling(253);
         
-        HashingAlgorithm hasher = new PerceptiveHash(64);
-        hasher.setOpaqueHandling(253);
-        
-        for (File image : images) {
-            if (printProgress && (images.indexOf(image) % 100 == 0) || (images.indexOf(image) == images.size() - 1)) {
-                System.out.print("\rHashed " + images.indexOf(image) + " / " + images.size());
+        ImageHashPipeline pipeline = new ImageHashPipeline(perceptiveHasher, averageHasher, hashThreads);
+        pipeline.setPrintProgress(printProgress);
+        ImageHashPipeline.HashedImage[] hashes;
+        if (useCache) {
+            try (HashStore store = new HashStore(new File(cacheDir, "hashes.store"), perceptiveHasher, averageHasher)) {
+                pipeline.setStore(store);
+                hashes = pipeline.hashAll(images);
+                store.retainAll(images);
             }
-            
-            Hash hash;
-            if (useCache) {
-                File cache = new File(cacheDir, image.getName() + ".hash");
-                if (cache.exists()) {
-                    hash = Hash.fromFile(cache);
-                } else {
-                    hash = hasher.hash(image);
-                    hash.toFile(cache);
-                }
-            } else {
-                hash = hasher.hash(image);
-            }
-            
-            hashes.put(image, hash);
-            tree.addHash(hash, image);
+        } else {
+            hashes = pipeline.hashAll(images);
+        }
+        
+        HammingIndex<Integer> index = new HammingIndex<>((hashes.length == 0) ? Long.SIZE : hashes[0].perceptiveHash.getBitResolution());
+        for (int i = 0; i < hashes.length; i++) {
+            index.add(hashes[i].perceptiveBits, i);
         }
         System.out.println("\n\n");
         
-        Set<File> found = new HashSet<>();
+        boolean[] found = new boolean[images.size()];
         
-        for (File image : images) {
-            if (printProgress && (images.indexOf(image) % 100 == 0) || (images.indexOf(image) == images.size() - 1)) {
-                System.out.print("\rSearched " + images.indexOf(image) + " / " + images.size());
+        for (int i = 0; i < images.size(); i++) {
+            if (printProgress && ((i % 100 == 0) || (i == images.size() - 1))) {
+                System.out.print("\rSearched " + i + " / " + images.size());
             }
-            if (!found.add(image)) {
+            if (found[i]) {
                 continue;
             }
+            found[i] = true;
+            File image = images.get(i);
             
-            PriorityQueue<Result<File>> matches = tree.getElementsWithinHammingDistance(hashes.get(image), 10);
+            List<HammingIndex.Match<Integer>> matches = index.query(hashes[i].perceptiveBits, maxHammingDistance);
+            matches.sort(Comparator.comparingInt(match -> match.distance));
             
             if (matches.size() > 1) {
                 List<File> matchingImages = new ArrayList<>();
                 matchingImages.add(image);
                 
-                matches.forEach(match -> {
-                    if (!match.value.getName().equals(image.getName()) && (!relocateMatches || !found.contains(match.value))) {
-                        found.add(match.value);
-                        matchingImages.add(match.value);
+                for (HammingIndex.Match<Integer> match : matches) {
+                    int j = match.value;
+                    if ((j != i) && (!relocateMatches || !found[j]) &&
+                            (hashes[i].averageHash.normalizedHammingDistance(hashes[j].averageHash) <= maxAverageHashDistance)) {
+                        found[j] = true;
+                        matchingImages.add(images.get(j));
                     }
-                });
+                }
                 if (matchingImages.size() <= 1) {
                     continue;
                 }
@@ -0,0 +1,188 @@
+/*
+ * File:    BbpKernel.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+/**
+ * Calculates hexadecimal digits of Pi at an index with the Bailey-Borwein-Plouffe formula, using exact integer arithmetic.
+ */
+public final class BbpKernel {
+    
+    //Constants
+    
+    /**
+     * The largest index that can be calculated, so that every denominator fits in 31 bits.
+     */
+    public static final long MAX_INDEX = (Integer.MAX_VALUE - 6L) / 8;
+    
+    /**
+     * The largest number of digits that can be calculated at once while staying correct.
+     */
+    public static final int MAX_DIGITS = 12;
+    
+    /**
+     * The hexadecimal digit characters.
+     */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    
+    
+    //Constructors
+    
+    /**
+     * The private constructor for BbpKernel.
+     */
+    private BbpKernel() {
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Calculates the hexadecimal digits of Pi following an index.
+     *
+     * @param index The number of hexadecimal digits of Pi to skip after the point.
+     * @param count The number of digits to calculate.
+     * @return The hexadecimal digits of Pi following the specified index.
+     */
+    public static String digits(long index, int count) {
+        if ((index < 0) || (index > MAX_INDEX)) {
+            throw new IllegalArgumentException("Index: " + index + " is out of range [0, " + MAX_INDEX + "]");
+        }
+        if ((count < 1) || (count > MAX_DIGITS)) {
+            throw new IllegalArgumentException("Count: " + count + " is out of range [1, " + MAX_DIGITS + "]");
+        }
+        
+        final long fraction = fraction(index);
+        final char[] digits = new char[count];
+        for (int i = 0; i < count; i++) {
+            digits[i] = HEX_DIGITS[(int) ((fraction >>> (60 - (i * 4))) & 0xF)];
+        }
+        return new String(digits);
+    }
+    
+    /**
+     * Calculates the fractional part of 16^n * Pi, as a 64 bit binary fraction.<br>
+     * The four series share each loop iteration, so the exponent is only scanned once and their terms are combined into a single sum.
+     * The sum is kept to 96 bits so that the rounding of millions of terms does not reach the digits that are returned.
+     *
+     * @param n The power of 16.
+     * @return The fractional part of 16^n * Pi, scaled by 2^64.
+     */
+    public static long fraction(long n) {
+        final long[] sum = new long[2];
+        
+        for (long k = 0; k < n; k++) {
+            final long d1 = (8 * k) + 1;
+            final long d4 = d1 + 3;
+            final long d5 = d1 + 4;
+            final long d6 = d1 + 5;
+            final double i1 = 1.0 / d1;
+            final double i4 = 1.0 / d4;
+            final double i5 = 1.0 / d5;
+            final double i6 = 1.0 / d6;
+            
+            //16^(n-k) is 2^(4(n-k)), so each set bit of the exponent is a doubling rather than a multiplication
+            final long exponent = 4 * (n - k);
+            long r1 = 1 % d1;
+            long r4 = 1;
+            long r5 = 1;
+            long r6 = 1;
+            for (int bit = 63 - Long.numberOfLeadingZeros(exponent); bit >= 0; bit--) {
+                r1 = mulMod(r1, r1, d1, i1);
+                r4 = mulMod(r4, r4, d4, i4);
+                r5 = mulMod(r5, r5, d5, i5);
+                r6 = mulMod(r6, r6, d6, i6);
+                if (((exponent >>> bit) & 1) != 0) {
+                    r1 = twice(r1, d1);
+                    r4 = twice(r4, d4);
+                    r5 = twice(r5, d5);
+                    r6 = twice(r6, d6);
+                }
+            }
+            
+            accumulate(sum, 4, d1, (r1 << 32), 0L);
+            accumulate(sum, -2, d4, (r4 << 32), 0L);
+            accumulate(sum, -1, d5, (r5 << 32), 0L);
+            accumulate(sum, -1, d6, (r6 << 32), 0L);
+            carry(sum);
+        }
+        
+        //the remaining terms are 2^-(4i) / d, which fall below 2^-64 after 16 terms
+        for (int i = 0; i <= 16; i++) {
+            final long d1 = (8 * (n + i)) + 1;
+            final long high = (i == 0) ? (1L << 32) : ((i <= 8) ? (1L << (32 - (4 * i))) : 0L);
+            final long low = (i <= 8) ? 0L : (1L << (64 - (4 * i)));
+            accumulate(sum, 4, d1, high, low);
+            accumulate(sum, -2, (d1 + 3), high, low);
+            accumulate(sum, -1, (d1 + 4), high, low);
+            accumulate(sum, -1, (d1 + 5), high, low);
+            carry(sum);
+        }
+        
+        return sum[0] + ((sum[1] >>> 31) & 1);
+    }
+    
+    /**
+     * Adds a multiple of a fraction to a 96 bit sum, ignoring the integer part.
+     *
+     * @param sum         The sum, as the upper 64 bits and the lower 32 bits of the fraction.
+     * @param factor      The multiple of the fraction to add.
+     * @param d           The denominator of the fraction, less than 2^31.
+     * @param numerator   The numerator of the fraction scaled by 2^32, less than d * 2^32.
+     * @param numeratorLo The numerator of the fraction scaled by 2^64, less than 2^32.
+     */
+    private static void accumulate(long[] sum, long factor, long d, long numerator, long numeratorLo) {
+        final long q1 = numerator / d;
+        long remainder = numerator - (q1 * d);
+        
+        final long n2 = (remainder << 32) | numeratorLo;
+        final long q2 = n2 / d;
+        remainder = n2 - (q2 * d);
+        
+        final long q3 = ((remainder << 32) + (d >>> 1)) / d;
+        sum[0] += factor * ((q1 << 32) + q2);
+        sum[1] += factor * q3;
+    }
+    
+    /**
+     * Moves the carry of the lower 32 bits of a 96 bit sum into the upper 64 bits.
+     *
+     * @param sum The sum, as the upper 64 bits and the lower 32 bits of the fraction.
+     */
+    private static void carry(long[] sum) {
+        sum[0] += sum[1] >> 32;
+        sum[1] &= 0xFFFFFFFFL;
+    }
+    
+    /**
+     * Multiplies two residues modulo a 31 bit modulus.<br>
+     * The quotient is estimated with a floating point reciprocal, and the exact remainder is recovered from the wrapped 64 bit product.
+     *
+     * @param a       The first residue.
+     * @param b       The second residue.
+     * @param m       The modulus.
+     * @param inverse The reciprocal of the modulus.
+     * @return The product of the residues modulo the modulus.
+     */
+    private static long mulMod(long a, long b, long m, double inverse) {
+        final long q = (long) ((double) a * b * inverse);
+        final long r = (a * b) - (q * m);
+        return (r < 0) ? (r + m) : ((r >= m) ? (r - m) : r);
+    }
+    
+    /**
+     * Doubles a residue.
+     *
+     * @param a The residue.
+     * @param m The modulus.
+     * @return Twice the residue modulo the modulus.
+     */
+    private static long twice(long a, long m) {
+        final long r = a << 1;
+        return (r >= m) ? (r - m) : r;
+    }
+    
+}
@@ -30,6 +30,11 @@ public class PiBot {
      */
     public static final File PI_FILE = new File("data/pi.txt");
     
+    /**
+     * The file that stores the index of the last digit of Pi that was durably written.
+     */
+    public static final File INDEX_FILE = new File("data/pi.index");
+    
     /**
      * The list of benchmark decimal places.
      */
@@ -51,19 +56,24 @@ public class PiBot {
     private static final int CHUNK_SIZE = 10;
     
     /**
-     * The size of the buffer to fill before outputting.
+     * The number of digits between progress reports.
      */
-    private static final int BUFFER_SIZE = CHUNK_SIZE * 100;
+    private static final int REPORT_INTERVAL = CHUNK_SIZE * 100;
     
     /**
-     * The number of powers of 2 to store.
+     * The number of threads to calculate digits with.
      */
-    private static final int NUM_TWO_POWERS = 25;
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
     
     /**
-     * The error margin for double calculations.
+     * The prefix of the pi file before the first digit.
      */
-    private static final double EPSILON = 0.00000000000000001;
+    private static final String PREFIX = "3.";
+    
+    /**
+     * The length of the prefix of the pi file before the first digit.
+     */
+    private static final int PREFIX_LENGTH = PREFIX.length();
     
     
     //Static Fields
@@ -73,16 +83,6 @@ public class PiBot {
      */
     private static long index = 0;
     
-    /**
-     * The buffer to store calculated digits prior to outputting.
-     */
-    private static char[] buffer = new char[BUFFER_SIZE];
-    
-    /**
-     * A store of powers of two.
-     */
-    private static double[] twoPowers = new double[NUM_TWO_POWERS];
-    
     
     //Methods
     
@@ -92,9 +92,6 @@ public class PiBot {
      * @param args The arguments for the main method.
      */
     public static void main(String[] args) {
-        //TODO verify against pi-verify if present
-        //TODO fix calculation issue
-        
         if (!initializeFiles()) {
             System.out.println("Could not initialize program files");
             return;
@@ -103,30 +100,24 @@ public class PiBot {
             System.out.println("Could not acquire index");
             return;
         }
-        initializeTwoPowers();
         initializeBenchmarks();
         
         System.out.println(index + " (start)");
         
-        int c = 0;
-        int k = 0;
-        while (true) {
-            k += BUFFER_SIZE;
-            if ((RUN_LENGTH > 0) && (k > RUN_LENGTH)) {
-                break;
-            }
-            
-            IntStream.range(0, BUFFER_SIZE / CHUNK_SIZE).boxed().parallel().forEach(e -> {
-                String n = calculatePiDigit(index + (e * CHUNK_SIZE));
-                for (int i = 0; i < n.length(); i++) {
-                    buffer[i + (e * CHUNK_SIZE)] = n.charAt(i);
+        final PiDigitEngine engine = new PiDigitEngine(PiBot::calculatePiDigit, CHUNK_SIZE, THREADS);
+        final long startIndex = index;
+        final long startTime = System.nanoTime();
+        try {
+            index = engine.run(PI_FILE, PREFIX_LENGTH, INDEX_FILE, index, RUN_LENGTH, e -> {
+                if ((e / REPORT_INTERVAL) > (index / REPORT_INTERVAL)) {
+                    index = e;
+                    checkBenchmarks();
+                    final double seconds = (System.nanoTime() - startTime) / 1000000000.0;
+                    System.out.println(index + " (" + String.format("%.1f", ((index - startIndex) / seconds)) + " digits/s)");
                 }
             });
-            
-            writeBuffer();
-            checkBenchmarks();
-            index += BUFFER_SIZE;
-            System.out.println(index);
+        } catch (IOException ignored) {
+            System.out.println("Could not write to pi file");
         }
     }
     
@@ -135,112 +126,10 @@ public class PiBot {
      *
      * @param index The index of Pi to start calculation from.
      * @return The 10 hexadecimal digits of Pi starting at the specified index.
+     * @see BbpKernel#digits(long, int)
      */
-    private static String calculatePiDigit(long index) {
-        double s1 = series(1, index);
-        double s2 = series(4, index);
-        double s3 = series(5, index);
-        double s4 = series(6, index);
-        
-        double pid = (4.0 * s1) - (2.0 * s2) - s3 - s4;
-        pid = pid - (int) pid + 1.0;
-        return hexString(pid).substring(0, CHUNK_SIZE);
-    }
-    
-    /**
-     * Determines the series for calculating Pi.
-     *
-     * @param m The factor for the denominator.
-     * @param n The index of Pi to calculate the series for.
-     * @return The series for calculating Pi.
-     */
-    private static double series(int m, long n) {
-        double sum = 0.0;
-        for (long k = 0; k < n; k++) {
-            double denom = 8 * k + m;
-            double pow = n - k;
-            double term = modPow16(pow, denom);
-            sum += (term / denom);
-            sum -= (int) sum;
-        }
-        
-        for (long k = n; k <= n + 100; k++) {
-            double denom = 8 * k + m;
-            double term = Math.pow(16.0, (double) (n - k)) / denom;
-            if (term < EPSILON) {
-                break;
-            }
-            sum += term;
-            sum -= (int) sum;
-        }
-        
-        return sum;
-    }
-    
-    /**
-     * Determines a fraction in hexadecimal.
-     *
-     * @param p The power of the fraction.
-     * @param m The denominator of the fraction.
-     * @return The fraction in hexadecimal.
-     */
-    private static double modPow16(double p, double m) {
-        if (m == 1.0) {
-            return 0.0;
-        }
-        
-        int i;
-        for (i = 0; i < NUM_TWO_POWERS; i++) {
-            if (twoPowers[i] > p) {
-                break;
-            }
-        }
-        
-        double pow2 = twoPowers[i - 1];
-        double pow1 = p;
-        double result = 1.0;
-        
-        for (int j = 1; j <= i; j++) {
-            if (pow1 >= pow2) {
-                result *= 16.0;
-                result -= (int) (result / m) * m;
-                pow1 -= pow2;
-            }
-            
-            pow2 *= 0.5;
-            if (pow2 >= 1.0) {
-                result *= result;
-                result -= (int) (result / m) * m;
-            }
-        }
-        
-        return result;
-    }
-    
-    /**
-     * Converts the fraction to a hexadecimal string.
-     */
-    private static String hexString(double x) {
-        String hexChars = "0123456789ABCDEF";
-        StringBuilder sb = new StringBuilder(16);
-        double y = Math.abs(x);
-        
-        for (int i = 0; i < 16; i++) {
-            y = 16.0 * (y - Math.floor(y));
-            sb.append(hexChars.charAt((int) y));
-        }
-        
-        return sb.toString();
-    }
-    
-    /**
-     * Initializes the array of powers of two.
-     */
-    private static void initializeTwoPowers() {
-        twoPowers[0] = 1d;
-        for (int i = 1; i < NUM_TWO_POWERS; i++) {
-            twoPowers[i] = 2d * twoPowers[i - 1];
-        }
+    static String calculatePiDigit(long index) {
+        return BbpKernel.digits(index, CHUNK_SIZE);
     }
     
     /**
@@ -282,10 +171,7 @@ public class PiBot {
                 if (!PI_FILE.createNewFile()) {
                     throw new IOException();
                 }
-                buffer = new char[2];
-                buffer[0] = '3';
-                buffer[1] = '.';
-                writeBuffer();
+                Files.writeString(PI_FILE.toPath(), PREFIX);
             } catch (IOException ignored) {
                 System.out.println("Could not create pi file");
                 return false;
@@ -296,36 +182,21 @@ public class PiBot {
     }
     
     /**
-     * Reads the index from the index file.
+     * Reads the index from the index file, discarding any digits in the pi file that were not checkpointed.
      *
      * @return Whether the index was read successfully or not.
      */
     private static boolean readIndex() {
         if (PI_FILE.exists()) {
-            index = PI_FILE.length() - "3.".length();
-            return true;
+            try {
+                index = PiDigitEngine.resume(PI_FILE, PREFIX_LENGTH, INDEX_FILE, CHUNK_SIZE);
+                return true;
+            } catch (IOException ignored) {
+            }
         }
         return false;
     }
     
-    /**
-     * Writes the buffer to file.
-     *
-     * @return Whether the buffer was successfully written to a file or not.
-     */
-    private static boolean writeBuffer() {
-        try {
-            BufferedWriter piWriter = new BufferedWriter(new FileWriter(PI_FILE, true));
-            piWriter.write(buffer);
-            buffer = new char[BUFFER_SIZE];
-            piWriter.close();
-        } catch (IOException ignored) {
-            System.out.println("Could not write to pi file");
-            return false;
-        }
-        return true;
-    }
-    
     /**
      * Checks for benchmark digit counts.
      */
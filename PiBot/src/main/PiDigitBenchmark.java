@@ -0,0 +1,78 @@
+/*
+ * File:    PiDigitBenchmark.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the sustained rate of the digit engine across thread counts.
+ */
+public class PiDigitBenchmark {
+    
+    //Constants
+    
+    /**
+     * The index of the first digit to calculate.
+     */
+    private static final long START_INDEX = 100000;
+    
+    /**
+     * The number of digits to calculate for each thread count.
+     */
+    private static final long DIGITS = 2000;
+    
+    /**
+     * The number of digits in a chunk.
+     */
+    private static final int CHUNK_SIZE = 10;
+    
+    
+    //Main Method
+    
+    /**
+     * The main method for the benchmark.
+     *
+     * @param args The arguments for the main method.
+     * @throws IOException When the digits could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        System.out.println("Processors: " + processors);
+        
+        final List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(processors);
+        
+        String expected = null;
+        for (int threads : threadCounts) {
+            final File output = File.createTempFile("pi-benchmark", ".txt");
+            try {
+                final PiDigitEngine engine = new PiDigitEngine(PiBot::calculatePiDigit, CHUNK_SIZE, threads);
+                final long start = System.nanoTime();
+                engine.run(output, 0, null, START_INDEX, DIGITS, null);
+                final double seconds = (System.nanoTime() - start) / 1000000000.0;
+                
+                final String digits = new String(Files.readAllBytes(output.toPath()));
+                if ((expected != null) && !expected.equals(digits)) {
+                    throw new IllegalStateException("Digits calculated with " + threads + " threads differ");
+                }
+                expected = digits;
+                System.out.println(String.format("%3d threads %10.1f digits/s", threads, (DIGITS / seconds)));
+                
+            } finally {
+                output.delete();
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,337 @@
+/*
+ * File:    PiDigitEngine.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Calculates chunks of hexadecimal digits of Pi on a pool of workers and appends them to a file in order.
+ */
+public class PiDigitEngine {
+    
+    //Constants
+    
+    /**
+     * The default number of chunks the workers may calculate ahead of the last written chunk.
+     */
+    public static final int DEFAULT_WINDOW = 256;
+    
+    /**
+     * The minimum time between checkpoints, in milliseconds.
+     */
+    public static final long CHECKPOINT_INTERVAL = 1000;
+    
+    
+    //Fields
+    
+    /**
+     * The function that calculates the chunk of digits starting at an index.
+     */
+    private final LongFunction<String> kernel;
+    
+    /**
+     * The number of digits in a chunk.
+     */
+    private final int chunkSize;
+    
+    /**
+     * The number of workers.
+     */
+    private final int threads;
+    
+    /**
+     * The number of chunks the workers may calculate ahead of the last written chunk.
+     */
+    private final int window;
+    
+    
+    //Constructors
+    
+    /**
+     * Creates a new PiDigitEngine.
+     *
+     * @param kernel    The function that calculates the chunk of digits starting at an index.
+     * @param chunkSize The number of digits in a chunk.
+     * @param threads   The number of workers.
+     * @param window    The number of chunks the workers may calculate ahead of the last written chunk.
+     */
+    public PiDigitEngine(LongFunction<String> kernel, int chunkSize, int threads, int window) {
+        if ((chunkSize <= 0) || (threads <= 0) || (window < threads)) {
+            throw new IllegalArgumentException("Invalid engine configuration: chunkSize=" + chunkSize + ", threads=" + threads + ", window=" + window);
+        }
+        this.kernel = kernel;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.window = window;
+    }
+    
+    /**
+     * Creates a new PiDigitEngine with the default window.
+     *
+     * @param kernel    The function that calculates the chunk of digits starting at an index.
+     * @param chunkSize The number of digits in a chunk.
+     * @param threads   The number of workers.
+     * @see #PiDigitEngine(LongFunction, int, int, int)
+     */
+    public PiDigitEngine(LongFunction<String> kernel, int chunkSize, int threads) {
+        this(kernel, chunkSize, threads, Math.max(DEFAULT_WINDOW, (threads * 4)));
+    }
+    
+    
+    //Methods
+    
+    /**
+     * Calculates digits and appends them to a file.<br>
+     * Workers claim the next chunk as soon as they finish one, while the calling thread appends each chunk once every chunk before it has been written.
+     * Any digits already in the file from the start index onwards are replaced.
+     *
+     * @param output     The file to append the digits to.
+     * @param offset     The number of characters in the file before the first digit.
+     * @param checkpoint The file to record the index of the last durably written digit in, or null.
+     * @param startIndex The index of the first digit to calculate.
+     * @param digits     The number of digits to calculate, or a non-positive number to calculate until interrupted.
+     * @param onWrite    The listener to notify with the next index after each write, or null.
+     * @return The index after the last digit written.
+     * @throws IOException When the digits could not be written.
+     */
+    public long run(File output, long offset, File checkpoint, long startIndex, long digits, LongConsumer onWrite) throws IOException {
+        final long chunks = (digits > 0) ? ((digits + chunkSize - 1) / chunkSize) : Long.MAX_VALUE;
+        final AtomicLong nextChunk = new AtomicLong(0);
+        final Semaphore permits = new Semaphore(window);
+        final BlockingQueue<Chunk> completed = new LinkedBlockingQueue<>();
+        
+        final ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> {
+                try {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        permits.acquire();
+                        final long chunk = nextChunk.getAndIncrement();
+                        if (chunk >= chunks) {
+                            return;
+                        }
+                        try {
+                            completed.put(new Chunk(chunk, kernel.apply(startIndex + (chunk * chunkSize)), null));
+                        } catch (Throwable e) {
+                            completed.put(new Chunk(chunk, null, e));
+                            return;
+                        }
+                    }
+                } catch (InterruptedException ignored) {
+                }
+            });
+        }
+        
+        long index = startIndex;
+        boolean interrupted = false;
+        try (FileChannel out = FileChannel.open(output.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            out.truncate(offset + startIndex);
+            out.position(offset + startIndex);
+            
+            final Map<Long, String> pending = new HashMap<>();
+            final StringBuilder batch = new StringBuilder();
+            long written = 0;
+            long lastCheckpoint = System.currentTimeMillis();
+            try {
+                while (written < chunks) {
+                    final Chunk chunk = completed.take();
+                    if (chunk.error != null) {
+                        throw new RuntimeException("Failed to calculate the digits at: " + (startIndex + (chunk.index * chunkSize)), chunk.error);
+                    }
+                    pending.put(chunk.index, chunk.digits);
+                    
+                    //chunks that finish out of order wait in pending until every chunk before them has been written
+                    batch.setLength(0);
+                    int count = 0;
+                    for (String digitChunk; (digitChunk = pending.remove(written)) != null; written++, count++) {
+                        final long remaining = (digits > 0) ? (digits - (written * chunkSize)) : chunkSize;
+                        batch.append(digitChunk, 0, (int) Math.min(chunkSize, remaining));
+                    }
+                    if (count == 0) {
+                        continue;
+                    }
+                    
+                    final ByteBuffer bytes = StandardCharsets.US_ASCII.encode(batch.toString());
+                    while (bytes.hasRemaining()) {
+                        out.write(bytes);
+                    }
+                    index += batch.length();
+                    permits.release(count);
+                    
+                    final long now = System.currentTimeMillis();
+                    if ((checkpoint != null) && (((now - lastCheckpoint) >= CHECKPOINT_INTERVAL) || (written >= chunks))) {
+                        out.force(false);
+                        writeCheckpoint(checkpoint, index);
+                        lastCheckpoint = now;
+                    }
+                    if (onWrite != null) {
+                        onWrite.accept(index);
+                    }
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            
+            //the interrupt is held until the last digits are flushed and checkpointed, since it would close the channel
+            if (checkpoint != null) {
+                out.force(false);
+                writeCheckpoint(checkpoint, index);
+            }
+            
+        } finally {
+            workers.shutdownNow();
+            try {
+                workers.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException ignored) {
+                interrupted = true;
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        
+        return index;
+    }
+    
+    
+    //Getters
+    
+    /**
+     * Returns the number of digits in a chunk.
+     *
+     * @return The number of digits in a chunk.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+    
+    /**
+     * Returns the number of workers.
+     *
+     * @return The number of workers.
+     */
+    public int getThreads() {
+        return threads;
+    }
+    
+    /**
+     * Returns the number of chunks the workers may calculate ahead of the last written chunk.
+     *
+     * @return The number of chunks the workers may calculate ahead of the last written chunk.
+     */
+    public int getWindow() {
+        return window;
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Reads the index to resume from and discards any digits in the output file after it.<br>
+     * Digits after the checkpoint may not have been durably written, so they are calculated again.
+     *
+     * @param output     The file the digits are appended to.
+     * @param offset     The number of characters in the file before the first digit.
+     * @param checkpoint The file the index of the last durably written digit is recorded in.
+     * @param chunkSize  The number of digits in a chunk.
+     * @return The index to resume from.
+     * @throws IOException When the output file could not be read or truncated.
+     */
+    public static long resume(File output, long offset, File checkpoint, int chunkSize) throws IOException {
+        final long available = Math.max(0, (output.length() - offset));
+        long index = available - (available % chunkSize);
+        if (checkpoint.exists()) {
+            try {
+                index = Math.min(index, Long.parseLong(Files.readString(checkpoint.toPath()).trim()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        
+        if (available > index) {
+            try (RandomAccessFile access = new RandomAccessFile(output, "rw")) {
+                access.setLength(offset + index);
+            }
+        }
+        return index;
+    }
+    
+    /**
+     * Records the index of the last durably written digit.
+     *
+     * @param checkpoint The checkpoint file.
+     * @param index      The index after the last durably written digit.
+     * @throws IOException When the checkpoint could not be written.
+     */
+    private static void writeCheckpoint(File checkpoint, long index) throws IOException {
+        final File tmp = new File(checkpoint.getPath() + ".tmp");
+        Files.writeString(tmp.toPath(), String.valueOf(index));
+        Files.move(tmp.toPath(), checkpoint.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    
+    //Inner Classes
+    
+    /**
+     * A calculated chunk of digits.
+     */
+    private static final class Chunk {
+        
+        //Fields
+        
+        /**
+         * The index of the chunk.
+         */
+        private final long index;
+        
+        /**
+         * The digits of the chunk.
+         */
+        private final String digits;
+        
+        /**
+         * The error that occurred while calculating the chunk, or null.
+         */
+        private final Throwable error;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a new Chunk.
+         *
+         * @param index  The index of the chunk.
+         * @param digits The digits of the chunk.
+         * @param error  The error that occurred while calculating the chunk, or null.
+         */
+        private Chunk(long index, String digits, Throwable error) {
+            this.index = index;
+            this.digits = digits;
+            this.error = error;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,133 @@
+/*
+ * File:    PiDigitVerifier.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verifies the digit kernel, and the pi file, against independently known hexadecimal digits of Pi.
+ */
+public class PiDigitVerifier {
+    
+    //Constants
+    
+    /**
+     * The number of leading hexadecimal digits of Pi to calculate with Machin's formula.
+     */
+    private static final int REFERENCE_DIGITS = 4000;
+    
+    /**
+     * The number of digits to check at each index.
+     */
+    private static final int CHECK_DIGITS = 12;
+    
+    /**
+     * Published hexadecimal digits of Pi following large indices, from Bailey's tables of BBP results.
+     */
+    private static final Map<Long, String> KNOWN_DIGITS = new LinkedHashMap<>();
+    
+    static {
+        KNOWN_DIGITS.put(999999L, "26C65E52CB4593");
+        KNOWN_DIGITS.put(9999999L, "17AF5863EFED8D");
+        KNOWN_DIGITS.put(99999999L, "ECB840E21926EC");
+    }
+    
+    
+    //Main Method
+    
+    /**
+     * The main method for the verifier.
+     *
+     * @param args The arguments for the main method.
+     * @throws IOException When the pi file could not be read.
+     */
+    public static void main(String[] args) throws IOException {
+        final String reference = machinHexDigits(REFERENCE_DIGITS);
+        System.out.println("Reference: " + reference.substring(0, 32) + "... (" + reference.length() + " digits)");
+        
+        int failures = 0;
+        for (int index = 0; index <= (reference.length() - CHECK_DIGITS); index++) {
+            final String expected = reference.substring(index, (index + CHECK_DIGITS));
+            final String actual = BbpKernel.digits(index, CHECK_DIGITS);
+            if (!expected.equals(actual)) {
+                System.out.println("Mismatch at " + index + ": expected " + expected + " but found " + actual);
+                failures++;
+            }
+        }
+        System.out.println("Checked indices 0 to " + (reference.length() - CHECK_DIGITS) + " against the reference");
+        
+        for (Map.Entry<Long, String> known : KNOWN_DIGITS.entrySet()) {
+            final long start = System.nanoTime();
+            final String expected = known.getValue().substring(0, CHECK_DIGITS);
+            final String actual = BbpKernel.digits(known.getKey(), CHECK_DIGITS);
+            final boolean match = expected.equals(actual);
+            failures += match ? 0 : 1;
+            System.out.println(String.format("Index %,d: %s (expected %s) %s in %.1f s",
+                    known.getKey(), actual, expected, (match ? "OK" : "MISMATCH"), ((System.nanoTime() - start) / 1000000000.0)));
+        }
+        
+        if (PiBot.PI_FILE.exists()) {
+            final String file = new String(Files.readAllBytes(PiBot.PI_FILE.toPath()), StandardCharsets.US_ASCII);
+            final String digits = file.startsWith("3.") ? file.substring(2) : file;
+            final int length = Math.min(digits.length(), reference.length());
+            int mismatch = -1;
+            for (int i = 0; (i < length) && (mismatch < 0); i++) {
+                mismatch = (digits.charAt(i) == reference.charAt(i)) ? -1 : i;
+            }
+            failures += (mismatch < 0) ? 0 : 1;
+            System.out.println("Pi file: " + ((mismatch < 0) ? ("first " + length + " digits OK") : ("first mismatch at " + mismatch)));
+        }
+        
+        System.out.println((failures == 0) ? "PASSED" : ("FAILED: " + failures));
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Calculates the leading hexadecimal digits of Pi with Machin's formula, Pi = 16 arctan(1/5) - 4 arctan(1/239).
+     *
+     * @param digits The number of hexadecimal digits after the point to calculate.
+     * @return The hexadecimal digits of Pi after the point.
+     */
+    public static String machinHexDigits(int digits) {
+        final int bits = (digits * 4) + 64;
+        final BigInteger pi = arctanInverse(5, bits).shiftLeft(4).subtract(arctanInverse(239, bits).shiftLeft(2));
+        final BigInteger fraction = pi.subtract(BigInteger.valueOf(3).shiftLeft(bits)).shiftRight(64);
+        
+        final StringBuilder hex = new StringBuilder(fraction.toString(16).toUpperCase());
+        while (hex.length() < digits) {
+            hex.insert(0, '0');
+        }
+        return hex.toString();
+    }
+    
+    /**
+     * Calculates arctan(1/x) as a binary fixed point number.
+     *
+     * @param x    The inverse of the argument.
+     * @param bits The number of fractional bits.
+     * @return arctan(1/x), scaled by 2^bits.
+     */
+    private static BigInteger arctanInverse(int x, int bits) {
+        final BigInteger xSquared = BigInteger.valueOf((long) x * x);
+        BigInteger power = BigInteger.ONE.shiftLeft(bits).divide(BigInteger.valueOf(x));
+        BigInteger sum = power;
+        for (int k = 1; power.signum() != 0; k++) {
+            power = power.divide(xSquared);
+            final BigInteger term = power.divide(BigInteger.valueOf((2L * k) + 1));
+            sum = ((k % 2) == 0) ? sum.add(term) : sum.subtract(term);
+        }
+        return sum;
+    }
+    
+}
@@ -0,0 +1,197 @@
+/*
+ * File:    PiKernelBenchmark.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.util.function.LongFunction;
+
+/**
+ * Measures the single threaded rate of the digit kernel at increasing indices, against the previous floating point kernel.
+ */
+public class PiKernelBenchmark {
+    
+    //Constants
+    
+    /**
+     * The indices to measure at, with the number of measured rounds at each.
+     */
+    private static final long[][] POSITIONS = {{1000000L, 3}, {10000000L, 1}, {100000000L, 1}};
+    
+    /**
+     * The largest index to measure the previous kernel at.
+     */
+    private static final long LEGACY_LIMIT = 10000000L;
+    
+    /**
+     * The number of digits in a chunk.
+     */
+    private static final int CHUNK_SIZE = 10;
+    
+    /**
+     * The number of powers of 2 stored by the previous kernel.
+     */
+    private static final int NUM_TWO_POWERS = 25;
+    
+    /**
+     * The error margin for double calculations in the previous kernel.
+     */
+    private static final double EPSILON = 0.00000000000000001;
+    
+    /**
+     * A store of powers of two for the previous kernel.
+     */
+    private static final double[] twoPowers = new double[NUM_TWO_POWERS];
+    
+    static {
+        twoPowers[0] = 1d;
+        for (int i = 1; i < NUM_TWO_POWERS; i++) {
+            twoPowers[i] = 2d * twoPowers[i - 1];
+        }
+    }
+    
+    
+    //Main Method
+    
+    /**
+     * The main method for the benchmark.
+     *
+     * @param args The arguments for the main method.
+     */
+    public static void main(String[] args) {
+        measure("warmup", 10000L, 3, e -> BbpKernel.digits(e, CHUNK_SIZE));
+        measure("warmup", 10000L, 3, PiKernelBenchmark::legacyDigits);
+        
+        for (long[] position : POSITIONS) {
+            final String digits = measure("integer", position[0], (int) position[1], e -> BbpKernel.digits(e, CHUNK_SIZE));
+            if (position[0] <= LEGACY_LIMIT) {
+                final String legacy = measure("double", position[0], (int) position[1], PiKernelBenchmark::legacyDigits);
+                if (!legacy.equals(digits)) {
+                    System.out.println("    the double kernel differs from the integer kernel at " + position[0]);
+                }
+            }
+        }
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Measures the rate of a kernel at an index.
+     *
+     * @param name   The name of the kernel.
+     * @param index  The index to calculate digits at.
+     * @param rounds The number of rounds to measure.
+     * @param kernel The kernel.
+     * @return The digits calculated by the kernel.
+     */
+    private static String measure(String name, long index, int rounds, LongFunction<String> kernel) {
+        String digits = null;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            final long start = System.nanoTime();
+            digits = kernel.apply(index);
+            best = Math.min(best, (System.nanoTime() - start));
+        }
+        System.out.println(String.format("%-8s %,13d  %s %12.3f s %12.2f digits/s",
+                name, index, digits, (best / 1000000000.0), (CHUNK_SIZE / (best / 1000000000.0))));
+        return digits;
+    }
+    
+    /**
+     * Calculates the 10 hexadecimal digits of Pi starting at an index with the previous floating point kernel.
+     *
+     * @param index The index of Pi to start calculation from.
+     * @return The 10 hexadecimal digits of Pi starting at the specified index.
+     */
+    private static String legacyDigits(long index) {
+        double s1 = legacySeries(1, index);
+        double s2 = legacySeries(4, index);
+        double s3 = legacySeries(5, index);
+        double s4 = legacySeries(6, index);
+        
+        double pid = (4.0 * s1) - (2.0 * s2) - s3 - s4;
+        pid = pid - (int) pid + 1.0;
+        
+        StringBuilder sb = new StringBuilder(CHUNK_SIZE);
+        double y = Math.abs(pid);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            y = 16.0 * (y - Math.floor(y));
+            sb.append("0123456789ABCDEF".charAt((int) y));
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Determines the series for calculating Pi with the previous floating point kernel.
+     *
+     * @param m The factor for the denominator.
+     * @param n The index of Pi to calculate the series for.
+     * @return The series for calculating Pi.
+     */
+    private static double legacySeries(int m, long n) {
+        double sum = 0.0;
+        for (long k = 0; k < n; k++) {
+            double denom = 8 * k + m;
+            double pow = n - k;
+            double term = legacyModPow16(pow, denom);
+            sum += (term / denom);
+            sum -= (int) sum;
+        }
+        
+        for (long k = n; k <= n + 100; k++) {
+            double denom = 8 * k + m;
+            double term = Math.pow(16.0, (double) (n - k)) / denom;
+            if (term < EPSILON) {
+                break;
+            }
+            sum += term;
+            sum -= (int) sum;
+        }
+        
+        return sum;
+    }
+    
+    /**
+     * Determines 16^p mod m with the previous floating point kernel.
+     *
+     * @param p The power.
+     * @param m The modulus.
+     * @return 16^p mod m.
+     */
+    private static double legacyModPow16(double p, double m) {
+        if (m == 1.0) {
+            return 0.0;
+        }
+        
+        int i;
+        for (i = 0; i < NUM_TWO_POWERS; i++) {
+            if (twoPowers[i] > p) {
+                break;
+            }
+        }
+        
+        double pow2 = twoPowers[i - 1];
+        double pow1 = p;
+        double result = 1.0;
+        
+        for (int j = 1; j <= i; j++) {
+            if (pow1 >= pow2) {
+                result *= 16.0;
+                result -= (int) (result / m) * m;
+                pow1 -= pow2;
+            }
+            
+            pow2 *= 0.5;
+            if (pow2 >= 1.0) {
+                result *= result;
+                result -= (int) (result / m) * m;
+            }
+        }
+        
+        return result;
+    }
+    
+}
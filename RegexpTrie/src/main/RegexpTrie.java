@@ -49,6 +49,18 @@ public class RegexpTrie {
         return optimizeAlternationHelper(new ArrayList<>(alternations), 0, new StringBuilder());
     }
     
+    /**
+     * Compiles a list of alternations into an automaton matcher.<br>
+     * The matcher answers the same matches and finds as the optimized regex string, without backtracking.
+     *
+     * @param alternations The list of alternations.
+     * @return The compiled matcher for the alternation.
+     * @see #optimizeAlternation(List)
+     */
+    public static WordSetMatcher compileMatcher(List<String> alternations) {
+        return new WordSetMatcher(alternations);
+    }
+    
     /**
      * Produces an optimized regex string for a list of alternations.
      *
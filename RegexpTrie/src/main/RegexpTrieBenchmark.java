@@ -0,0 +1,155 @@
+/*
+ * File:    RegexpTrieBenchmark.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies and benchmarks the regex builders.
+ */
+public class RegexpTrieBenchmark {
+    
+    //Constants
+    
+    /**
+     * The number of words in the benchmark word list.
+     */
+    private static final int BENCHMARK_WORDS = 100000;
+    
+    /**
+     * The number of random word lists to verify.
+     */
+    private static final int VERIFY_ROUNDS = 500;
+    
+    /**
+     * The number of warmup rounds before measuring.
+     */
+    private static final int WARMUP_ROUNDS = 2;
+    
+    /**
+     * The number of measured rounds.
+     */
+    private static final int MEASURE_ROUNDS = 3;
+    
+    /**
+     * The alphabet used for generated words, including regex meta characters.
+     */
+    private static final String VERIFY_ALPHABET = "abcde.*-[]";
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) {
+        verify();
+        benchmark();
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Verifies that the trie builder produces the same regex as the existing implementations.
+     */
+    private static void verify() {
+        final Random random = new Random(7L);
+        for (int round = 0; round < VERIFY_ROUNDS; round++) {
+            final List<String> words = generateWords(random, random.nextInt(40), VERIFY_ALPHABET, 6);
+            
+            final String expected = RegexpTrieOriginal.buildRegex(words);
+            final String optimized = RegexpTrie.optimizeAlternation(words);
+            final String built = RegexpTrieBuilder.buildRegex(words);
+            if (!expected.equals(optimized) || !expected.equals(built)) {
+                throw new IllegalStateException("Regex mismatch for " + words + ": " + expected + " / " + optimized + " / " + built);
+            }
+            
+            final String merged = new RegexpTrieBuilder().setMergeSuffixes(true).addAll(words).build();
+            final Pattern expectedPattern = Pattern.compile(expected);
+            final Pattern mergedPattern = Pattern.compile(merged);
+            for (String probe : generateWords(random, 200, VERIFY_ALPHABET, 6)) {
+                if (expectedPattern.matcher(probe).matches() != mergedPattern.matcher(probe).matches()) {
+                    throw new IllegalStateException("Merged regex " + merged + " disagrees with " + expected + " on " + probe);
+                }
+            }
+            for (String word : words) {
+                if (!mergedPattern.matcher(word).matches()) {
+                    throw new IllegalStateException("Merged regex " + merged + " does not match " + word);
+                }
+            }
+        }
+        System.out.println("Verified " + VERIFY_ROUNDS + " word lists");
+    }
+    
+    /**
+     * Benchmarks the regex builders on a large word list.
+     */
+    private static void benchmark() {
+        final List<String> words = generateWords(new Random(11L), BENCHMARK_WORDS, "abcdefghijklmnopqrstuvwxyz", 12);
+        final long totalLength = words.stream().mapToLong(String::length).sum();
+        System.out.println("Words: " + words.size() + " (" + totalLength + " characters)");
+        
+        final String original = measure("RegexpTrieOriginal", () -> RegexpTrieOriginal.buildRegex(words));
+        final String optimized = measure("RegexpTrie", () -> RegexpTrie.optimizeAlternation(words));
+        final String built = measure("RegexpTrieBuilder", () -> RegexpTrieBuilder.buildRegex(words));
+        final String merged = measure("RegexpTrieBuilder (merged)", () ->
+                new RegexpTrieBuilder().setMergeSuffixes(true).addAll(words).build());
+        
+        System.out.println("Identical output: " + (original.equals(optimized) && original.equals(built)));
+        System.out.println("Regex length: " + built.length() + " (merged: " + merged.length() + ")");
+    }
+    
+    /**
+     * Measures the best time of a regex builder.
+     *
+     * @param name    The name of the builder.
+     * @param builder The builder.
+     * @return The regex produced by the builder.
+     */
+    private static String measure(String name, Supplier<String> builder) {
+        String result = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            result = builder.get();
+        }
+        
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            final long start = System.nanoTime();
+            result = builder.get();
+            best = Math.min(best, (System.nanoTime() - start));
+        }
+        System.out.println(String.format("%-28s %10.2f ms", name, (best / 1000000.0)));
+        return result;
+    }
+    
+    /**
+     * Generates a list of random words with skewed letter frequencies, so that words share prefixes and suffixes.
+     *
+     * @param random    The random number generator.
+     * @param count     The number of words.
+     * @param alphabet  The alphabet.
+     * @param maxLength The maximum length of a word.
+     * @return The list of words.
+     */
+    private static List<String> generateWords(Random random, int count, String alphabet, int maxLength) {
+        final List<String> words = new ArrayList<>(count);
+        final StringBuilder word = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            word.setLength(0);
+            final int length = random.nextInt(maxLength + 1);
+            for (int j = 0; j < length; j++) {
+                final double skewed = Math.pow(random.nextDouble(), 2.0);
+                word.append(alphabet.charAt((int) (skewed * alphabet.length())));
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+    
+}
@@ -0,0 +1,375 @@
+/*
+ * File:    RegexpTrieBuilder.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds an optimized regex alternation from a character trie.<br>
+ * Produces the same regex as {@link RegexpTrie#optimizeAlternation(java.util.List)} in time linear in the total length of the input.
+ */
+public class RegexpTrieBuilder {
+    
+    //Constants
+    
+    /**
+     * The initial node capacity of the trie.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    
+    /**
+     * The index of the root node.
+     */
+    private static final int ROOT = 0;
+    
+    /**
+     * The index used to indicate the absence of a node.
+     */
+    private static final int NONE = -1;
+    
+    
+    //Fields
+    
+    /**
+     * The edge character leading into each node.
+     */
+    private char[] edge;
+    
+    /**
+     * The first child of each node, children are kept sorted by their edge character.
+     */
+    private int[] firstChild;
+    
+    /**
+     * The next sibling of each node.
+     */
+    private int[] nextSibling;
+    
+    /**
+     * The number of strings passing through each node.
+     */
+    private int[] count;
+    
+    /**
+     * Whether or not a string ends at each node.
+     */
+    private boolean[] terminal;
+    
+    /**
+     * The number of nodes in the trie.
+     */
+    private int size;
+    
+    /**
+     * Whether or not to merge sibling branches with identical suffixes.
+     */
+    private boolean mergeSuffixes = false;
+    
+    
+    //Constructors
+    
+    /**
+     * Creates a new Regexp Trie Builder.
+     */
+    public RegexpTrieBuilder() {
+        this.edge = new char[INITIAL_CAPACITY];
+        this.firstChild = new int[INITIAL_CAPACITY];
+        this.nextSibling = new int[INITIAL_CAPACITY];
+        this.count = new int[INITIAL_CAPACITY];
+        this.terminal = new boolean[INITIAL_CAPACITY];
+        this.size = 0;
+        newNode('\0');
+    }
+    
+    
+    //Methods
+    
+    /**
+     * Adds a string to the trie.
+     *
+     * @param str The string.
+     * @return The Regexp Trie Builder.
+     */
+    public RegexpTrieBuilder add(String str) {
+        int node = ROOT;
+        count[node]++;
+        for (int i = 0; i < str.length(); i++) {
+            node = childOf(node, str.charAt(i));
+            count[node]++;
+        }
+        terminal[node] = true;
+        return this;
+    }
+    
+    /**
+     * Adds a collection of strings to the trie.
+     *
+     * @param strs The strings.
+     * @return The Regexp Trie Builder.
+     */
+    public RegexpTrieBuilder addAll(Iterable<String> strs) {
+        for (String str : strs) {
+            add(str);
+        }
+        return this;
+    }
+    
+    /**
+     * Builds the optimized regex string for the strings in the trie.
+     *
+     * @return The optimized regex string.
+     */
+    public String build() {
+        final StringBuilder out = new StringBuilder();
+        final int[] suffixIds = mergeSuffixes ? computeSuffixIds() : null;
+        build(ROOT, suffixIds, out);
+        return out.toString();
+    }
+    
+    /**
+     * Produces the optimized regex string for a node of the trie.
+     *
+     * @param node      The node.
+     * @param suffixIds The identifiers of the distinct sub-tries, or null if suffixes are not merged.
+     * @param out       The string builder that holds the optimized regex string.
+     */
+    private void build(int node, int[] suffixIds, StringBuilder out) {
+        if (count[node] < 2) {
+            for (int child = firstChild[node]; child != NONE; child = firstChild[child]) {
+                PatternUtils.escape(edge[child], out);
+            }
+            return;
+        }
+        
+        final int first = firstChild[node];
+        if (first == NONE) {
+            return;
+        }
+        
+        final boolean hasEmpty = terminal[node];
+        final boolean allSame = (nextSibling[first] == NONE) ||
+                ((suffixIds != null) && allSameSuffix(first, suffixIds));
+        
+        out.append((!allSame || hasEmpty) ? "(?:" : "");
+        boolean firstAlternative = true;
+        for (int child = first; child != NONE; child = nextSibling[child]) {
+            if ((suffixIds != null) && mergedIntoEarlier(first, child, suffixIds)) {
+                continue;
+            }
+            out.append(firstAlternative ? "" : "|");
+            appendEdges(child, suffixIds, out);
+            build(child, suffixIds, out);
+            firstAlternative = false;
+        }
+        out.append((!allSame || hasEmpty) ? ")" : "").append(hasEmpty ? "?" : "");
+    }
+    
+    /**
+     * Appends the edge character of a node, or a character class of the edges of all siblings sharing its suffix.
+     *
+     * @param node      The node.
+     * @param suffixIds The identifiers of the distinct sub-tries, or null if suffixes are not merged.
+     * @param out       The string builder that holds the optimized regex string.
+     */
+    private void appendEdges(int node, int[] suffixIds, StringBuilder out) {
+        if (suffixIds == null) {
+            PatternUtils.escape(edge[node], out);
+            return;
+        }
+        
+        int merged = 0;
+        for (int sibling = nextSibling[node]; sibling != NONE; sibling = nextSibling[sibling]) {
+            if (suffixIds[sibling] == suffixIds[node]) {
+                merged++;
+            }
+        }
+        if (merged == 0) {
+            PatternUtils.escape(edge[node], out);
+            return;
+        }
+        
+        out.append('[');
+        escapeClassChar(edge[node], out);
+        for (int sibling = nextSibling[node]; sibling != NONE; sibling = nextSibling[sibling]) {
+            if (suffixIds[sibling] == suffixIds[node]) {
+                escapeClassChar(edge[sibling], out);
+            }
+        }
+        out.append(']');
+    }
+    
+    /**
+     * Determines if all children in a sibling list share the same suffix.
+     *
+     * @param first     The first child.
+     * @param suffixIds The identifiers of the distinct sub-tries.
+     * @return Whether or not all children share the same suffix.
+     */
+    private boolean allSameSuffix(int first, int[] suffixIds) {
+        for (int child = nextSibling[first]; child != NONE; child = nextSibling[child]) {
+            if (suffixIds[child] != suffixIds[first]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Determines if a child was already emitted as part of the character class of an earlier sibling.
+     *
+     * @param first     The first child.
+     * @param node      The child.
+     * @param suffixIds The identifiers of the distinct sub-tries.
+     * @return Whether or not the child was merged into an earlier sibling.
+     */
+    private boolean mergedIntoEarlier(int first, int node, int[] suffixIds) {
+        for (int sibling = first; sibling != node; sibling = nextSibling[sibling]) {
+            if (suffixIds[sibling] == suffixIds[node]) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Assigns an identifier to every node so that nodes with identical sub-tries share an identifier.
+     *
+     * @return The identifiers of the sub-trie of each node.
+     */
+    private int[] computeSuffixIds() {
+        final int[] ids = new int[size];
+        final Map<String, Integer> signatures = new HashMap<>();
+        final StringBuilder signature = new StringBuilder();
+        
+        //children are always created after their parents, so a reverse scan visits children first
+        for (int node = size - 1; node >= 0; node--) {
+            signature.setLength(0);
+            signature.append(terminal[node] ? 'T' : 'F');
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                signature.append(edge[child]).append(ids[child]).append(',');
+            }
+            ids[node] = signatures.computeIfAbsent(signature.toString(), e -> signatures.size());
+        }
+        return ids;
+    }
+    
+    /**
+     * Finds or creates the child of a node along an edge, keeping the children sorted.
+     *
+     * @param node The node.
+     * @param c    The edge character.
+     * @return The child node.
+     */
+    private int childOf(int node, char c) {
+        int previous = NONE;
+        int child = firstChild[node];
+        while ((child != NONE) && (edge[child] < c)) {
+            previous = child;
+            child = nextSibling[child];
+        }
+        if ((child != NONE) && (edge[child] == c)) {
+            return child;
+        }
+        
+        final int created = newNode(c);
+        nextSibling[created] = child;
+        if (previous == NONE) {
+            firstChild[node] = created;
+        } else {
+            nextSibling[previous] = created;
+        }
+        return created;
+    }
+    
+    /**
+     * Creates a new node.
+     *
+     * @param c The edge character leading into the node.
+     * @return The new node.
+     */
+    private int newNode(char c) {
+        if (size == edge.length) {
+            final int capacity = size * 2;
+            edge = Arrays.copyOf(edge, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            count = Arrays.copyOf(count, capacity);
+            terminal = Arrays.copyOf(terminal, capacity);
+        }
+        edge[size] = c;
+        firstChild[size] = NONE;
+        nextSibling[size] = NONE;
+        count[size] = 0;
+        terminal[size] = false;
+        return size++;
+    }
+    
+    
+    //Getters
+    
+    /**
+     * Returns the number of nodes in the trie.
+     *
+     * @return The number of nodes in the trie.
+     */
+    public int getNodeCount() {
+        return size;
+    }
+    
+    /**
+     * Returns whether or not sibling branches with identical suffixes are merged.
+     *
+     * @return Whether or not sibling branches with identical suffixes are merged.
+     */
+    public boolean isMergeSuffixes() {
+        return mergeSuffixes;
+    }
+    
+    
+    //Setters
+    
+    /**
+     * Sets whether or not to merge sibling branches with identical suffixes into a character class.<br>
+     * The resulting regex matches the same strings, but is no longer identical to the output of {@link RegexpTrie}.
+     *
+     * @param mergeSuffixes Whether or not to merge sibling branches with identical suffixes.
+     * @return The Regexp Trie Builder.
+     */
+    public RegexpTrieBuilder setMergeSuffixes(boolean mergeSuffixes) {
+        this.mergeSuffixes = mergeSuffixes;
+        return this;
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Builds an optimized regex string for a collection of strings.
+     *
+     * @param strs The strings.
+     * @return The optimized regex string.
+     */
+    public static String buildRegex(Iterable<String> strs) {
+        return new RegexpTrieBuilder().addAll(strs).build();
+    }
+    
+    /**
+     * Escapes a character for use inside a regex character class.
+     *
+     * @param c   The character.
+     * @param out The string builder to append to.
+     */
+    private static void escapeClassChar(char c, StringBuilder out) {
+        if (c == '-') {
+            out.append('\\');
+        }
+        PatternUtils.escape(c, out);
+    }
+    
+}
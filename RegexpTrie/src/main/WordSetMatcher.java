@@ -0,0 +1,381 @@
+/*
+ * File:    WordSetMatcher.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compiled Aho-Corasick automaton for a set of words.<br>
+ * Answers the same matches and finds as the regex produced by {@link RegexpTrie} for the same words,
+ * with one table lookup per character and no backtracking.
+ */
+public class WordSetMatcher {
+    
+    //Constants
+    
+    /**
+     * The initial state capacity of the automaton.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    
+    /**
+     * The root state of the automaton.
+     */
+    private static final int ROOT = 0;
+    
+    
+    //Fields
+    
+    /**
+     * The dense alphabet index of each character, 0 for characters that do not appear in any word.
+     */
+    private final int[] alphabet;
+    
+    /**
+     * The size of the dense alphabet, including the index for unknown characters.
+     */
+    private final int sigma;
+    
+    /**
+     * The transition table, indexed by state * sigma + character index.
+     */
+    private int[] delta;
+    
+    /**
+     * The depth of each state in the trie.
+     */
+    private int[] depth;
+    
+    /**
+     * Whether or not a word ends at each state.
+     */
+    private boolean[] terminal;
+    
+    /**
+     * The length of the longest word that is a suffix of each state.
+     */
+    private int[] output;
+    
+    /**
+     * The number of states in the automaton.
+     */
+    private int size;
+    
+    /**
+     * Whether or not the word set contains the empty string.
+     */
+    private boolean hasEmpty = false;
+    
+    
+    //Constructors
+    
+    /**
+     * Compiles a new Word Set Matcher.
+     *
+     * @param words The words.
+     * @throws IllegalArgumentException When the transition table would be too large.
+     */
+    public WordSetMatcher(Iterable<String> words) {
+        this.alphabet = new int[Character.MAX_VALUE + 1];
+        int alphabetSize = 1;
+        int totalLength = 0;
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                if (alphabet[word.charAt(i)] == 0) {
+                    alphabet[word.charAt(i)] = alphabetSize++;
+                }
+            }
+            totalLength += word.length();
+        }
+        this.sigma = alphabetSize;
+        
+        final long tableSize = (long) (totalLength + 1) * sigma;
+        if (tableSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The word set is too large to compile into a transition table");
+        }
+        
+        final int capacity = Math.min((totalLength + 1), INITIAL_CAPACITY);
+        this.delta = new int[capacity * sigma];
+        this.depth = new int[capacity];
+        this.terminal = new boolean[capacity];
+        this.size = 1;
+        
+        for (String word : words) {
+            insert(word);
+        }
+        link();
+    }
+    
+    
+    //Methods
+    
+    /**
+     * Inserts a word into the trie.
+     *
+     * @param word The word.
+     */
+    private void insert(String word) {
+        int state = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            final int index = (state * sigma) + alphabet[word.charAt(i)];
+            if (delta[index] == ROOT) {
+                final int child = newState(depth[state] + 1);
+                delta[index] = child;
+            }
+            state = delta[index];
+        }
+        terminal[state] = true;
+        hasEmpty |= (state == ROOT);
+    }
+    
+    /**
+     * Creates a new state.
+     *
+     * @param stateDepth The depth of the state.
+     * @return The new state.
+     */
+    private int newState(int stateDepth) {
+        if (size == depth.length) {
+            final int capacity = size * 2;
+            delta = Arrays.copyOf(delta, (capacity * sigma));
+            depth = Arrays.copyOf(depth, capacity);
+            terminal = Arrays.copyOf(terminal, capacity);
+        }
+        depth[size] = stateDepth;
+        return size++;
+    }
+    
+    /**
+     * Computes the failure links in breadth first order and folds them into the transition table.
+     */
+    private void link() {
+        final int[] fail = new int[size];
+        output = new int[size];
+        final int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        
+        for (int c = 0; c < sigma; c++) {
+            final int child = delta[c];
+            if (child != ROOT) {
+                fail[child] = ROOT;
+                queue[tail++] = child;
+            }
+        }
+        
+        while (head < tail) {
+            final int state = queue[head++];
+            output[state] = terminal[state] ? depth[state] : output[fail[state]];
+            
+            for (int c = 0; c < sigma; c++) {
+                final int index = (state * sigma) + c;
+                final int child = delta[index];
+                final int fallback = delta[(fail[state] * sigma) + c];
+                if ((child != ROOT) && (depth[child] == (depth[state] + 1))) {
+                    fail[child] = fallback;
+                    queue[tail++] = child;
+                } else {
+                    delta[index] = fallback;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns the next state of the automaton.
+     *
+     * @param state The current state.
+     * @param c     The next character.
+     * @return The next state.
+     */
+    private int next(int state, char c) {
+        return delta[(state * sigma) + alphabet[c]];
+    }
+    
+    /**
+     * Determines if an input is exactly one of the words.
+     *
+     * @param input The input.
+     * @return Whether or not the input is one of the words.
+     */
+    public boolean matches(CharSequence input) {
+        int state = ROOT;
+        for (int i = 0; i < input.length(); i++) {
+            state = next(state, input.charAt(i));
+            if (depth[state] != (i + 1)) {
+                return false;
+            }
+        }
+        return terminal[state];
+    }
+    
+    /**
+     * Determines if any of the words occur in an input.
+     *
+     * @param input The input.
+     * @return Whether or not any of the words occur in the input.
+     */
+    public boolean find(CharSequence input) {
+        if (hasEmpty) {
+            return true;
+        }
+        int state = ROOT;
+        for (int i = 0; i < input.length(); i++) {
+            state = next(state, input.charAt(i));
+            if (output[state] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Finds the leftmost longest occurrence of any of the words in an input, starting at an index.
+     *
+     * @param input The input.
+     * @param from  The index to start searching from.
+     * @return The match, or null if there is no match.
+     */
+    public Match find(CharSequence input, int from) {
+        int bestStart = -1;
+        int bestEnd = -1;
+        
+        if (hasEmpty) {
+            bestStart = from;
+            bestEnd = from;
+        }
+        
+        int state = ROOT;
+        for (int i = from; i < input.length(); i++) {
+            state = next(state, input.charAt(i));
+            
+            //stop once no partial match can still start at or before the best match
+            if ((bestStart >= 0) && (((i + 1) - depth[state]) > bestStart)) {
+                break;
+            }
+            
+            final int length = output[state];
+            if (length > 0) {
+                final int start = (i + 1) - length;
+                if ((bestStart < 0) || (start < bestStart) || ((start == bestStart) && ((i + 1) > bestEnd))) {
+                    bestStart = start;
+                    bestEnd = i + 1;
+                }
+            }
+        }
+        
+        return (bestStart < 0) ? null : new Match(input, bestStart, bestEnd);
+    }
+    
+    /**
+     * Finds all non-overlapping leftmost longest occurrences of any of the words in an input.
+     *
+     * @param input The input.
+     * @return The list of matches.
+     */
+    public List<Match> findAll(CharSequence input) {
+        final List<Match> matches = new ArrayList<>();
+        int from = 0;
+        while (from <= input.length()) {
+            final Match match = find(input, from);
+            if (match == null) {
+                break;
+            }
+            matches.add(match);
+            from = (match.getEnd() > match.getStart()) ? match.getEnd() : (match.getEnd() + 1);
+        }
+        return matches;
+    }
+    
+    
+    //Getters
+    
+    /**
+     * Returns the number of states in the automaton.
+     *
+     * @return The number of states in the automaton.
+     */
+    public int getStateCount() {
+        return size;
+    }
+    
+    
+    //Inner Classes
+    
+    /**
+     * A match of a word in an input.
+     */
+    public static class Match {
+        
+        //Fields
+        
+        /**
+         * The input.
+         */
+        private final CharSequence input;
+        
+        /**
+         * The start index of the match.
+         */
+        private final int start;
+        
+        /**
+         * The end index of the match, exclusive.
+         */
+        private final int end;
+        
+        
+        //Constructors
+        
+        /**
+         * Creates a new Match.
+         *
+         * @param input The input.
+         * @param start The start index of the match.
+         * @param end   The end index of the match, exclusive.
+         */
+        private Match(CharSequence input, int start, int end) {
+            this.input = input;
+            this.start = start;
+            this.end = end;
+        }
+        
+        
+        //Getters
+        
+        /**
+         * Returns the start index of the match.
+         *
+         * @return The start index of the match.
+         */
+        public int getStart() {
+            return start;
+        }
+        
+        /**
+         * Returns the end index of the match, exclusive.
+         *
+         * @return The end index of the match.
+         */
+        public int getEnd() {
+            return end;
+        }
+        
+        /**
+         * Returns the matched word.
+         *
+         * @return The matched word.
+         */
+        public String getGroup() {
+            return input.subSequence(start, end).toString();
+        }
+        
+    }
+    
+}
@@ -0,0 +1,204 @@
+/*
+ * File:    WordSetMatcherBenchmark.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Verifies and benchmarks the compiled word set matcher against the regex produced by {@link RegexpTrie}.
+ */
+public class WordSetMatcherBenchmark {
+    
+    //Constants
+    
+    /**
+     * The word list sizes to benchmark.
+     */
+    private static final int[] BENCHMARK_WORDS = {100, 10000, 100000};
+    
+    /**
+     * The length of the benchmark text.
+     */
+    private static final int TEXT_LENGTH = 10000000;
+    
+    /**
+     * The number of random word lists to verify.
+     */
+    private static final int VERIFY_ROUNDS = 500;
+    
+    /**
+     * The number of warmup rounds before measuring.
+     */
+    private static final int WARMUP_ROUNDS = 2;
+    
+    /**
+     * The number of measured rounds.
+     */
+    private static final int MEASURE_ROUNDS = 3;
+    
+    /**
+     * The alphabet used for generated words, including regex meta characters.
+     */
+    private static final String VERIFY_ALPHABET = "abcde.*-[]";
+    
+    /**
+     * The alphabet used for benchmark words.
+     */
+    private static final String BENCHMARK_ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) {
+        verify();
+        for (int words : BENCHMARK_WORDS) {
+            benchmark(words);
+        }
+    }
+    
+    
+    //Static Methods
+    
+    /**
+     * Verifies that the matcher produces the same matches and finds as the regex.
+     */
+    private static void verify() {
+        final Random random = new Random(13L);
+        for (int round = 0; round < VERIFY_ROUNDS; round++) {
+            final List<String> words = generateWords(random, (random.nextInt(40) + 1), VERIFY_ALPHABET, 6);
+            final Pattern pattern = Pattern.compile(RegexpTrie.optimizeAlternation(words));
+            final WordSetMatcher matcher = RegexpTrie.compileMatcher(words);
+            
+            for (String probe : generateWords(random, 200, VERIFY_ALPHABET, 6)) {
+                if (pattern.matcher(probe).matches() != matcher.matches(probe)) {
+                    throw new IllegalStateException("Matcher disagrees with " + pattern + " on " + probe);
+                }
+            }
+            
+            final String text = generateText(random, 2000, words, VERIFY_ALPHABET);
+            final List<WordSetMatcher.Match> found = matcher.findAll(text);
+            final Matcher expected = pattern.matcher(text);
+            int index = 0;
+            while (expected.find()) {
+                if ((index >= found.size()) ||
+                        (found.get(index).getStart() != expected.start()) || (found.get(index).getEnd() != expected.end())) {
+                    throw new IllegalStateException("Matcher disagrees with " + pattern + " at " + expected.start());
+                }
+                index++;
+            }
+            if (index != found.size()) {
+                throw new IllegalStateException("Matcher found extra matches for " + pattern);
+            }
+        }
+        System.out.println("Verified " + VERIFY_ROUNDS + " word lists");
+    }
+    
+    /**
+     * Benchmarks the matcher and the regex on a long text.
+     *
+     * @param wordCount The number of words in the word list.
+     */
+    private static void benchmark(int wordCount) {
+        final Random random = new Random(17L);
+        final List<String> words = generateWords(random, wordCount, BENCHMARK_ALPHABET, 12);
+        words.removeIf(String::isEmpty);
+        final String text = generateText(random, TEXT_LENGTH, words, BENCHMARK_ALPHABET);
+        System.out.println("Words: " + words.size() + ", Text: " + text.length() + " characters");
+        
+        final Pattern pattern = Pattern.compile(RegexpTrie.optimizeAlternation(words));
+        final WordSetMatcher matcher = RegexpTrie.compileMatcher(words);
+        
+        final int regexCount = measure("Pattern", text, e -> {
+            final Matcher regex = pattern.matcher(e);
+            int count = 0;
+            while (regex.find()) {
+                count++;
+            }
+            return count;
+        });
+        final int matcherCount = measure("WordSetMatcher", text, e -> matcher.findAll(e).size());
+        
+        System.out.println("Identical matches: " + (regexCount == matcherCount) + " (" + matcherCount + ")");
+    }
+    
+    /**
+     * Measures the best time of a find loop.
+     *
+     * @param name   The name of the matcher.
+     * @param text   The text.
+     * @param finder The find loop, returning the number of matches.
+     * @return The number of matches.
+     */
+    private static int measure(String name, String text, ToIntFunction<String> finder) {
+        int result = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            result = finder.applyAsInt(text);
+        }
+        
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            final long start = System.nanoTime();
+            result = finder.applyAsInt(text);
+            best = Math.min(best, (System.nanoTime() - start));
+        }
+        System.out.println(String.format("%-28s %10.2f ms %10.2f MB/s", name, (best / 1000000.0),
+                ((text.length() * 1000.0) / best)));
+        return result;
+    }
+    
+    /**
+     * Generates a random text with words from a word list embedded in it.
+     *
+     * @param random   The random number generator.
+     * @param length   The length of the text.
+     * @param words    The word list.
+     * @param alphabet The alphabet.
+     * @return The text.
+     */
+    private static String generateText(Random random, int length, List<String> words, String alphabet) {
+        final StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (random.nextInt(8) == 0) {
+                text.append(words.get(random.nextInt(words.size())));
+            } else {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+    
+    /**
+     * Generates a list of random words with skewed letter frequencies, so that words share prefixes and suffixes.
+     *
+     * @param random    The random number generator.
+     * @param count     The number of words.
+     * @param alphabet  The alphabet.
+     * @param maxLength The maximum length of a word.
+     * @return The list of words.
+     */
+    private static List<String> generateWords(Random random, int count, String alphabet, int maxLength) {
+        final List<String> words = new ArrayList<>(count);
+        final StringBuilder word = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            word.setLength(0);
+            final int length = random.nextInt(maxLength + 1);
+            for (int j = 0; j < length; j++) {
+                final double skewed = Math.pow(random.nextDouble(), 2.0);
+                word.append(alphabet.charAt((int) (skewed * alphabet.length())));
+            }
+            words.add(word.toString());
+        }
+        return words;
+    }
+    
+}
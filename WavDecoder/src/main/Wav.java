@@ -0,0 +1,338 @@
+/*
+ * File:    Wav.java
+ * Package: main
+ * Author:  Zachary Gill
+ */
+
+package main;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class Wav implements Closeable {
+    
+    //Constants
+    
+    public static final int FORMAT_PCM = 1;
+    
+    public static final int FORMAT_FLOAT = 3;
+    
+    public static final int FORMAT_EXTENSIBLE = 0xFFFE;
+    
+    private static final int CHUNK_HEADER_SIZE = 8;
+    
+    private static final int MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+    
+    
+    //Fields
+    
+    private final File file;
+    
+    private final RandomAccessFile access;
+    
+    private final FileChannel channel;
+    
+    private final Map<String, Long> chunks = new LinkedHashMap<>();
+    
+    private int audioFormat;
+    
+    private int numChannels;
+    
+    private int sampleRate;
+    
+    private int byteRate;
+    
+    private int blockAlign;
+    
+    private int bitsPerSample;
+    
+    private int bytesPerSample;
+    
+    private long dataOffset;
+    
+    private long dataSize;
+    
+    private long frameCount;
+    
+    private long framesPerSegment;
+    
+    private ByteBuffer[] segments;
+    
+    
+    //Constructors
+    
+    public Wav(File file) throws IOException {
+        this.file = file;
+        this.access = new RandomAccessFile(file, "r");
+        this.channel = access.getChannel();
+        
+        try {
+            parseChunks();
+        } catch (IOException | RuntimeException e) {
+            access.close();
+            throw e;
+        }
+    }
+    
+    
+    //Methods
+    
+    private void parseChunks() throws IOException {
+        final ByteBuffer header = read(0, 12);
+        if (!idOf(header, 0).equals("RIFF") || !idOf(header, 8).equals("WAVE")) {
+            throw new IOException("Not a RIFF WAVE file: " + file.getAbsolutePath());
+        }
+        
+        //walk the chunk headers only, the chunk bodies are never read unless they are needed
+        long position = 12;
+        final long length = channel.size();
+        while ((position + CHUNK_HEADER_SIZE) <= length) {
+            final ByteBuffer chunkHeader = read(position, CHUNK_HEADER_SIZE);
+            final String id = idOf(chunkHeader, 0);
+            final long size = chunkHeader.getInt(4) & 0xFFFFFFFFL;
+            chunks.putIfAbsent(id, position);
+            
+            if (id.equals("fmt ")) {
+                parseFormat(read((position + CHUNK_HEADER_SIZE), (int) Math.min(size, 40)));
+            } else if (id.equals("data")) {
+                dataOffset = position + CHUNK_HEADER_SIZE;
+                dataSize = Math.min(size, (length - dataOffset));
+                break;
+            }
+            position += CHUNK_HEADER_SIZE + size + (size & 1);
+        }
+        
+        if (!chunks.containsKey("fmt ")) {
+            throw new IOException("Missing fmt chunk: " + file.getAbsolutePath());
+        }
+        if (!chunks.containsKey("data")) {
+            throw new IOException("Missing data chunk: " + file.getAbsolutePath());
+        }
+        frameCount = dataSize / blockAlign;
+        framesPerSegment = MAX_SEGMENT_SIZE / blockAlign;
+        segments = new ByteBuffer[(int) ((frameCount + framesPerSegment - 1) / framesPerSegment)];
+    }
+    
+    private void parseFormat(ByteBuffer format) throws IOException {
+        audioFormat = format.getShort(0) & 0xFFFF;
+        numChannels = format.getShort(2) & 0xFFFF;
+        sampleRate = format.getInt(4);
+        byteRate = format.getInt(8);
+        blockAlign = format.getShort(12) & 0xFFFF;
+        bitsPerSample = format.getShort(14) & 0xFFFF;
+        if ((audioFormat == FORMAT_EXTENSIBLE) && (format.limit() >= 26)) {
+            audioFormat = format.getShort(24) & 0xFFFF;
+        }
+        
+        bytesPerSample = (bitsPerSample + 7) / 8;
+        if ((numChannels == 0) || (blockAlign < (numChannels * bytesPerSample))) {
+            throw new IOException("Invalid fmt chunk: " + file.getAbsolutePath());
+        }
+        if (!((audioFormat == FORMAT_PCM) && (bytesPerSample >= 1) && (bytesPerSample <= 4)) &&
+                !((audioFormat == FORMAT_FLOAT) && ((bytesPerSample == 4) || (bytesPerSample == 8)))) {
+            throw new IOException("Unsupported audio format: " + audioFormat + " with " + bitsPerSample + " bits per sample");
+        }
+    }
+    
+    public int sample(long frame, int channel) {
+        if (audioFormat == FORMAT_FLOAT) {
+            return (int) Math.round(sampleValue(frame, channel) * Integer.MAX_VALUE);
+        }
+        
+        final ByteBuffer segment = segmentOf(frame);
+        final int offset = offsetOf(frame, channel);
+        switch (bytesPerSample) {
+            case 1:
+                return (segment.get(offset) & 0xFF) - 128;
+            case 2:
+                return segment.getShort(offset);
+            case 3:
+                return ((segment.get(offset + 2) << 16) | ((segment.get(offset + 1) & 0xFF) << 8) | (segment.get(offset) & 0xFF));
+            default:
+                return segment.getInt(offset);
+        }
+    }
+    
+    public double sampleValue(long frame, int channel) {
+        final ByteBuffer segment = segmentOf(frame);
+        final int offset = offsetOf(frame, channel);
+        if (audioFormat == FORMAT_FLOAT) {
+            return (bytesPerSample == 4) ? segment.getFloat(offset) : segment.getDouble(offset);
+        }
+        return sample(frame, channel) / (double) (1L << ((bytesPerSample * Byte.SIZE) - 1));
+    }
+    
+    public int read(long frame, int channel, double[] buffer, int offset, int length) {
+        final int count = (int) Math.max(0, Math.min(length, (frameCount - frame)));
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = sampleValue((frame + i), channel);
+        }
+        return count;
+    }
+    
+    public int read(long frame, int channel, int[] buffer, int offset, int length) {
+        final int count = (int) Math.max(0, Math.min(length, (frameCount - frame)));
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = sample((frame + i), channel);
+        }
+        return count;
+    }
+    
+    public PrimitiveIterator.OfDouble samples(int channel) {
+        return samples(channel, 0, frameCount);
+    }
+    
+    public PrimitiveIterator.OfDouble samples(int channel, long fromFrame, long toFrame) {
+        checkChannel(channel);
+        final long end = Math.min(toFrame, frameCount);
+        return new PrimitiveIterator.OfDouble() {
+            private long frame = Math.max(0, fromFrame);
+            
+            @Override
+            public boolean hasNext() {
+                return frame < end;
+            }
+            
+            @Override
+            public double nextDouble() {
+                if (frame >= end) {
+                    throw new NoSuchElementException();
+                }
+                return sampleValue(frame++, channel);
+            }
+        };
+    }
+    
+    private ByteBuffer segmentOf(long frame) {
+        if ((frame < 0) || (frame >= frameCount)) {
+            throw new IndexOutOfBoundsException("Frame " + frame + " is out of range for " + frameCount + " frames");
+        }
+        
+        //segments hold a whole number of frames, so a sample never straddles two mappings
+        final int index = (int) (frame / framesPerSegment);
+        ByteBuffer segment = segments[index];
+        if (segment == null) {
+            try {
+                final long start = index * framesPerSegment;
+                final long frames = Math.min(framesPerSegment, (frameCount - start));
+                final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        (dataOffset + (start * blockAlign)), (frames * blockAlign));
+                segment = mapped.order(ByteOrder.LITTLE_ENDIAN);
+                segments[index] = segment;
+            } catch (IOException e) {
+                throw new RuntimeException("Could not map frames of: " + file.getAbsolutePath(), e);
+            }
+        }
+        return segment;
+    }
+    
+    private int offsetOf(long frame, int channel) {
+        checkChannel(channel);
+        return (int) ((frame % framesPerSegment) * blockAlign) + (channel * bytesPerSample);
+    }
+    
+    private void checkChannel(int channel) {
+        if ((channel < 0) || (channel >= numChannels)) {
+            throw new IndexOutOfBoundsException("Channel " + channel + " is out of range for " + numChannels + " channels");
+        }
+    }
+    
+    private ByteBuffer read(long position, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, (position + buffer.position())) < 0) {
+                throw new IOException("Unexpected end of file: " + file.getAbsolutePath());
+            }
+        }
+        return buffer.flip();
+    }
+    
+    public void printInfo() {
+        System.out.println("FileName: " + file.getName());
+        System.out.println("FileSize: " + file.length());
+        System.out.println();
+        System.out.println("Chunks: " + String.join(", ", chunks.keySet()));
+        System.out.println();
+        System.out.println("AudioFormat: " + audioFormat);
+        System.out.println("NumChannels: " + numChannels);
+        System.out.println("SampleRate: " + sampleRate);
+        System.out.println("ByteRate: " + byteRate);
+        System.out.println("BlockAlign: " + blockAlign);
+        System.out.println("BitsPerSample: " + bitsPerSample);
+        System.out.println();
+        System.out.println("DataSize: " + dataSize);
+        System.out.println("FrameCount: " + frameCount);
+        System.out.println("Duration: " + getDuration() + "s");
+    }
+    
+    @Override
+    public void close() throws IOException {
+        access.close();
+    }
+    
+    
+    //Getters
+    
+    public File getFile() {
+        return file;
+    }
+    
+    public List<String> getChunkIds() {
+        return new ArrayList<>(chunks.keySet());
+    }
+    
+    public int getAudioFormat() {
+        return audioFormat;
+    }
+    
+    public int getNumChannels() {
+        return numChannels;
+    }
+    
+    public int getSampleRate() {
+        return sampleRate;
+    }
+    
+    public int getByteRate() {
+        return byteRate;
+    }
+    
+    public int getBlockAlign() {
+        return blockAlign;
+    }
+    
+    public int getBitsPerSample() {
+        return bitsPerSample;
+    }
+    
+    public long getFrameCount() {
+        return frameCount;
+    }
+    
+    public double getDuration() {
+        return (double) frameCount / sampleRate;
+    }
+    
+    
+    //Static Methods
+    
+    private static String idOf(ByteBuffer buffer, int offset) {
+        final byte[] id = new byte[4];
+        buffer.get(offset, id);
+        return new String(id, StandardCharsets.US_ASCII);
+    }
+    
+}
@@ -0,0 +1,79 @@
+/*
+ * File:    UnscrambleBenchmark.java
+ * Package: main.benchmark
+ * Author:  Zachary Gill
+ */
+
+package main.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import main.dict.EnglishDictionary;
+import main.dict.core.base.AnagramIndex;
+import main.dict.core.standard.StandardDictionary;
+
+public class UnscrambleBenchmark {
+    
+    //Constants
+    
+    private static final String[] SEQUENCES = {"WYPCBM", "RETAINS", "QUIZZES", "ABCDEFGHIJ"};
+    
+    private static final int WARMUP_ROUNDS = 2;
+    
+    private static final int MEASURE_ROUNDS = 5;
+    
+    
+    //Main Method
+    
+    public static void main(String[] args) {
+        final StandardDictionary dictionary = new EnglishDictionary();
+        dictionary.load();
+        System.out.println("Words: " + dictionary.words().size());
+        
+        for (String sequence : SEQUENCES) {
+            final List<String> legacy = measure(sequence + " (regex)", () -> legacyUnscramble(dictionary.words(), sequence));
+            final List<String> indexed = measure(sequence + " (signature)", () -> dictionary.unscrambleSequence(sequence, true));
+            if (!legacy.equals(indexed)) {
+                throw new IllegalStateException("Unscramble results differ for " + sequence);
+            }
+        }
+        
+        measure("RETAINS?? (signature, exact)", () -> dictionary.unscrambleSequence("RETAINS" + AnagramIndex.WILDCARD + AnagramIndex.WILDCARD));
+        measure("RETAINS (anagrams)", () -> dictionary.anagramsOf("RETAINS"));
+        System.out.println("Anagrams of RETAINS: " + dictionary.anagramsOf("RETAINS"));
+    }
+    
+    
+    //Static Methods
+    
+    private static List<String> measure(String name, Supplier<List<String>> unscrambler) {
+        List<String> result = null;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            result = unscrambler.get();
+        }
+        
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURE_ROUNDS; i++) {
+            final long start = System.nanoTime();
+            result = unscrambler.get();
+            best = Math.min(best, (System.nanoTime() - start));
+        }
+        System.out.println(String.format("%-32s %10.2f ms %8d results", name, (best / 1000000.0), result.size()));
+        return result;
+    }
+    
+    private static List<String> legacyUnscramble(List<String> options, String scrambledSequence) {
+        return options.stream()
+                .map(e -> Map.entry(e, e.length() -
+                        scrambledSequence.chars().mapToObj(i -> String.valueOf((char) i))
+                                .reduce(e, (s, c) -> s.replaceFirst(Pattern.quote(c), "")).length()))
+                .sorted((o1, o2) -> Integer.compare(o2.getValue(), o1.getValue()))
+                .map(e -> e.getValue() + ": " + e.getKey())
+                .collect(Collectors.toList());
+    }
+    
+}
@@ -0,0 +1,185 @@
+/*
+ * File:    AnagramIndex.java
+ * Package: main.dict.core.base
+ * Author:  Zachary Gill
+ */
+
+package main.dict.core.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AnagramIndex {
+    
+    //Constants
+    
+    public static final char WILDCARD = '?';
+    
+    private static final int LETTERS = 26;
+    
+    
+    //Fields
+    
+    protected final List<String> words;
+    
+    protected final byte[] signatures;
+    
+    protected final int[] lengths;
+    
+    protected final boolean[] irregular;
+    
+    protected volatile Map<String, int[]> anagrams;
+    
+    
+    //Constructors
+    
+    public AnagramIndex(List<String> words) {
+        this.words = words;
+        this.signatures = new byte[words.size() * LETTERS];
+        this.lengths = new int[words.size()];
+        this.irregular = new boolean[words.size()];
+        
+        for (int id = 0; id < words.size(); id++) {
+            final String word = words.get(id);
+            final int base = id * LETTERS;
+            lengths[id] = word.length();
+            for (int i = 0; i < word.length(); i++) {
+                final int letter = word.charAt(i) - 'A';
+                if ((letter < 0) || (letter >= LETTERS) || (signatures[base + letter] == Byte.MAX_VALUE)) {
+                    irregular[id] = true;
+                } else {
+                    signatures[base + letter]++;
+                }
+            }
+        }
+    }
+    
+    
+    //Methods
+    
+    public List<Map.Entry<String, Integer>> unscramble(String scrambledSequence, boolean partial) {
+        return unscramble(scrambledSequence, partial, -1);
+    }
+    
+    public List<Map.Entry<String, Integer>> unscramble(String scrambledSequence, boolean partial, int wordLength) {
+        final byte[] available = new byte[LETTERS];
+        int wildcards = 0;
+        int letterCount = 0;
+        for (int i = 0; i < scrambledSequence.length(); i++) {
+            final char c = scrambledSequence.charAt(i);
+            final int letter = c - 'A';
+            if (c == WILDCARD) {
+                wildcards++;
+            } else if ((letter >= 0) && (letter < LETTERS) && (available[letter] < Byte.MAX_VALUE)) {
+                available[letter]++;
+                letterCount++;
+            }
+        }
+        final int maxLength = letterCount + wildcards;
+        
+        //bucket the words by the number of matched letters, so the result is ordered without a sort
+        final List<List<Map.Entry<String, Integer>>> buckets = new ArrayList<>();
+        for (int id = 0; id < lengths.length; id++) {
+            final int length = lengths[id];
+            if (((wordLength >= 0) && (length != wordLength)) || (!partial && (length > maxLength))) {
+                continue;
+            }
+            
+            final int matched = irregular[id] ? matchIrregular(words.get(id), scrambledSequence) :
+                                matched(id, available, wildcards);
+            if (partial || (matched == length)) {
+                while (buckets.size() <= matched) {
+                    buckets.add(new ArrayList<>());
+                }
+                buckets.get(matched).add(Map.entry(words.get(id), matched));
+            }
+        }
+        
+        final List<Map.Entry<String, Integer>> result = new ArrayList<>();
+        for (int matched = buckets.size() - 1; matched >= 0; matched--) {
+            result.addAll(buckets.get(matched));
+        }
+        return result;
+    }
+    
+    private int matched(int id, byte[] available, int wildcards) {
+        final int base = id * LETTERS;
+        int matched = 0;
+        for (int letter = 0; letter < LETTERS; letter++) {
+            matched += Math.min(signatures[base + letter], available[letter]);
+        }
+        return matched + Math.min(wildcards, (lengths[id] - matched));
+    }
+    
+    private static int matchIrregular(String word, String scrambledSequence) {
+        final StringBuilder remaining = new StringBuilder(word);
+        int wildcards = 0;
+        for (int i = 0; i < scrambledSequence.length(); i++) {
+            final char c = scrambledSequence.charAt(i);
+            if (c == WILDCARD) {
+                wildcards++;
+                continue;
+            }
+            final int index = remaining.indexOf(String.valueOf(c));
+            if (index >= 0) {
+                remaining.deleteCharAt(index);
+            }
+        }
+        return (word.length() - remaining.length()) + Math.min(wildcards, remaining.length());
+    }
+    
+    public List<String> anagramsOf(String sequence) {
+        final int[] ids = anagrams().get(sortedKey(sequence));
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        
+        final List<String> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add(words.get(id));
+        }
+        return result;
+    }
+    
+    private Map<String, int[]> anagrams() {
+        Map<String, int[]> groups = anagrams;
+        if (groups == null) {
+            synchronized (this) {
+                groups = anagrams;
+                if (groups == null) {
+                    groups = new HashMap<>();
+                    for (int id = 0; id < words.size(); id++) {
+                        final String key = sortedKey(words.get(id));
+                        final int[] group = groups.get(key);
+                        final int[] grown = (group == null) ? new int[1] : Arrays.copyOf(group, (group.length + 1));
+                        grown[grown.length - 1] = id;
+                        groups.put(key, grown);
+                    }
+                    anagrams = groups;
+                }
+            }
+        }
+        return groups;
+    }
+    
+    
+    //Getters
+    
+    public List<String> getWords() {
+        return words;
+    }
+    
+    
+    //Static Methods
+    
+    public static String sortedKey(String sequence) {
+        final char[] chars = sequence.toCharArray();
+        Arrays.sort(chars);
+        return new String(chars);
+    }
+    
+}
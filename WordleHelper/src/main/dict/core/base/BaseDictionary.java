@@ -10,7 +10,6 @@ import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -35,16 +34,22 @@ public abstract class BaseDictionary implements BaseDictionaryInterface {
     
     protected final List<String> alphabet = new ArrayList<>();
     
-    protected final Map<Integer, List<String>> sequencesOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> sequencesOfLength = new PackedKeyCache<>();
     
-    protected final Map<Integer, List<String>> illegalSequencesOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> legalSequencesOfLength = new PackedKeyCache<>();
     
-    protected final Map<Integer, List<String>> illegalStartingSequencesOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> illegalSequencesOfLength = new PackedKeyCache<>();
     
-    protected final Map<Integer, List<String>> illegalEndingSequencesOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> illegalStartingSequencesOfLength = new PackedKeyCache<>();
+    
+    protected final PackedKeyCache<List<String>> illegalEndingSequencesOfLength = new PackedKeyCache<>();
     
     protected final AtomicBoolean loaded = new AtomicBoolean(false);
     
+    protected volatile LetterIndex index = new LetterIndex(List.of());
+    
+    protected volatile AnagramIndex anagramIndex = new AnagramIndex(List.of());
+    
     
     //Methods
     
@@ -53,6 +58,8 @@ public abstract class BaseDictionary implements BaseDictionaryInterface {
         if (loaded.compareAndSet(false, true)) {
             words.addAll(loadLexicon());
             alphabet.addAll(loadAlphabet());
+            index = new LetterIndex(words);
+            anagramIndex = new AnagramIndex(words);
         }
     }
     
@@ -100,69 +107,93 @@ public abstract class BaseDictionary implements BaseDictionaryInterface {
         return words;
     }
     
+    @Override
+    public LetterIndex index() {
+        return index;
+    }
+    
+    @Override
+    public AnagramIndex anagramIndex() {
+        return anagramIndex;
+    }
+    
     @Override
     public List<String> wordsThatContain(String search) {
-        return words().stream().filter(e -> e.contains(search)).collect(Collectors.toList());
+        return index().toWords(index().wordsThatContain(search));
     }
     
     @Override
     public List<String> wordsThatDoNotContain(String search) {
-        return words().stream().filter(e -> e.contains(search)).collect(Collectors.toList());
+        return index().query().andNot(index().wordsThatContain(search)).words();
     }
     
     @Override
     public List<String> wordsThatContainAll(String... search) {
-        return words().stream().filter(e -> Arrays.stream(search).allMatch(e::contains)).collect(Collectors.toList());
+        final LetterIndex.Query query = index().query();
+        Arrays.stream(search).forEach(e -> query.and(index().wordsThatContain(e)));
+        return query.words();
     }
     
     @Override
     public List<String> wordsThatContainAny(String... search) {
-        return words().stream().filter(e -> Arrays.stream(search).anyMatch(e::contains)).collect(Collectors.toList());
+        final long[] result = new long[index().all().length];
+        Arrays.stream(search).forEach(e -> LetterIndex.or(result, index().wordsThatContain(e)));
+        return index().toWords(result);
     }
     
     @Override
     public List<String> wordsThatContainNone(String... search) {
-        return words().stream().filter(e -> Arrays.stream(search).noneMatch(e::contains)).collect(Collectors.toList());
+        final LetterIndex.Query query = index().query();
+        Arrays.stream(search).forEach(e -> query.andNot(index().wordsThatContain(e)));
+        return query.words();
     }
     
     @Override
     public List<String> wordsThatStartWith(String search) {
-        return words().stream().filter(e -> e.startsWith(search)).collect(Collectors.toList());
+        return index().toWords(index().wordsThatStartWith(search));
     }
     
     @Override
     public List<String> wordsThatStartWithAny(String... search) {
-        return words().stream().filter(e -> Arrays.stream(search).anyMatch(e::startsWith)).collect(Collectors.toList());
+        final long[] result = new long[index().all().length];
+        Arrays.stream(search).forEach(e -> LetterIndex.or(result, index().wordsThatStartWith(e)));
+        return index().toWords(result);
     }
     
     @Override
     public List<String> wordsThatDoNotStartWith(String search) {
-        return words().stream().filter(e -> !e.startsWith(search)).collect(Collectors.toList());
+        return index().query().andNot(index().wordsThatStartWith(search)).words();
     }
     
     @Override
     public List<String> wordsThatDoNotStartWithAny(String... search) {
-        return words().stream().filter(e -> Arrays.stream(search).noneMatch(e::startsWith)).collect(Collectors.toList());
+        final LetterIndex.Query query = index().query();
+        Arrays.stream(search).forEach(e -> query.andNot(index().wordsThatStartWith(e)));
+        return query.words();
     }
     
     @Override
     public List<String> wordsThatEndWith(String search) {
-        return words().stream().filter(e -> e.endsWith(search)).collect(Collectors.toList());
+        return index().toWords(index().wordsThatEndWith(search));
     }
     
     @Override
     public List<String> wordsThatEndWithAny(String... search) {
-        return words().stream().filter(e -> Arrays.stream(search).anyMatch(e::endsWith)).collect(Collectors.toList());
+        final long[] result = new long[index().all().length];
+        Arrays.stream(search).forEach(e -> LetterIndex.or(result, index().wordsThatEndWith(e)));
+        return index().toWords(result);
     }
     
     @Override
     public List<String> wordsThatDoNotEndWith(String search) {
-        return words().stream().filter(e -> !e.endsWith(search)).collect(Collectors.toList());
+        return index().query().andNot(index().wordsThatEndWith(search)).words();
     }
     
     @Override
     public List<String> wordsThatDoNotEndWithAny(String... search) {
-        return words().stream().filter(e -> Arrays.stream(search).noneMatch(e::endsWith)).collect(Collectors.toList());
+        final LetterIndex.Query query = index().query();
+        Arrays.stream(search).forEach(e -> query.andNot(index().wordsThatEndWith(e)));
+        return query.words();
     }
     
     @Override
@@ -180,37 +211,36 @@ public abstract class BaseDictionary implements BaseDictionaryInterface {
     @Override
     public List<String> sequencesOfLength(int sequenceLength) {
         return sequencesOfLength.computeIfAbsent(sequenceLength,
-                i -> {
-                    final List<String> sequences = new ArrayList<>();
-                    calculateSequencesOfLength(sequences, "", alphabet(), sequenceLength);
-                    return sequences;
-                });
+                key -> SequenceList.all(alphabet(), sequenceLength));
+    }
+    
+    @Override
+    public List<String> legalSequencesOfLength(int sequenceLength) {
+        return legalSequencesOfLength.computeIfAbsent(sequenceLength,
+                key -> SequenceList.legal(alphabet(), sequenceLength, words(), SequenceList.Window.ANY));
     }
     
     @Override
     public List<String> illegalSequencesOfLength(int sequenceLength) {
-        final List<String> sequencesOfLength = sequencesOfLength(sequenceLength);
         return illegalSequencesOfLength.computeIfAbsent(sequenceLength,
-                i -> sequencesOfLength.stream().filter(e -> words().stream().noneMatch(e2 -> e2.contains(e))).collect(Collectors.toList()));
+                key -> SequenceList.illegal(alphabet(), sequenceLength, words(), SequenceList.Window.ANY));
     }
     
     @Override
     public List<String> illegalStartingSequencesOfLength(int sequenceLength) {
-        final List<String> sequencesOfLength = sequencesOfLength(sequenceLength);
         return illegalStartingSequencesOfLength.computeIfAbsent(sequenceLength,
-                i -> sequencesOfLength.stream().filter(e -> words().stream().noneMatch(e2 -> e2.startsWith(e))).collect(Collectors.toList()));
+                key -> SequenceList.illegal(alphabet(), sequenceLength, words(), SequenceList.Window.START));
     }
     
     @Override
     public List<String> illegalEndingSequencesOfLength(int sequenceLength) {
-        final List<String> sequencesOfLength = sequencesOfLength(sequenceLength);
         return illegalEndingSequencesOfLength.computeIfAbsent(sequenceLength,
-                i -> sequencesOfLength.stream().filter(e -> words().stream().noneMatch(e2 -> e2.endsWith(e))).collect(Collectors.toList()));
+                key -> SequenceList.illegal(alphabet(), sequenceLength, words(), SequenceList.Window.END));
     }
     
     @Override
     public List<String> unscrambleSequence(String scrambledSequence, boolean partial) {
-        return unscrambleSequenceFromList(words(), scrambledSequence, partial);
+        return formatUnscrambled(anagramIndex().unscramble(scrambledSequence, partial));
     }
     
     @Override
@@ -218,25 +248,20 @@ public abstract class BaseDictionary implements BaseDictionaryInterface {
         return unscrambleSequence(scrambledSequence, false);
     }
     
+    @Override
+    public List<String> anagramsOf(String sequence) {
+        return anagramIndex().anagramsOf(sequence);
+    }
+    
     
     //Static Methods
     
-    private static void calculateSequencesOfLength(List<String> sequences, String prefix, List<String> alphabet, int sequenceLength) {
-        if (sequenceLength == 0) {
-            sequences.add(prefix);
-        } else {
-            alphabet.forEach(letter ->
-                    calculateSequencesOfLength(sequences, (prefix + letter), alphabet, (sequenceLength - 1)));
-        }
+    protected static List<String> unscrambleSequenceFromList(List<String> options, String scrambledSequence, boolean partial) {
+        return formatUnscrambled(new AnagramIndex(options).unscramble(scrambledSequence, partial));
     }
     
-    protected static List<String> unscrambleSequenceFromList(List<String> options, String scrambledSequence, boolean partial) {
-        return options.stream()
-                .map(e -> Map.entry(e, e.length() -
-                        scrambledSequence.chars().mapToObj(i -> String.valueOf((char) i))
-                                .reduce(e, (s, c) -> s.replaceFirst(Pattern.quote(c), "")).length()))
-                .filter(e -> (partial || (e.getValue() == 0)))
-                .sorted((o1, o2) -> Integer.compare(o2.getValue(), o1.getValue()))
+    protected static List<String> formatUnscrambled(List<Map.Entry<String, Integer>> unscrambled) {
+        return unscrambled.stream()
                 .map(e -> e.getValue() + ": " + e.getKey())
                 .collect(Collectors.toList());
     }
@@ -24,6 +24,10 @@ public interface BaseDictionaryInterface {
     
     List<String> words();
     
+    LetterIndex index();
+    
+    AnagramIndex anagramIndex();
+    
     List<String> wordsThatContain(String search);
     
     List<String> wordsThatDoNotContain(String search);
@@ -56,6 +60,8 @@ public interface BaseDictionaryInterface {
     
     List<String> sequencesOfLength(int sequenceLength);
     
+    List<String> legalSequencesOfLength(int sequenceLength);
+    
     List<String> illegalSequencesOfLength(int sequenceLength);
     
     List<String> illegalStartingSequencesOfLength(int sequenceLength);
@@ -66,4 +72,6 @@ public interface BaseDictionaryInterface {
     
     List<String> unscrambleSequence(String scrambledSequence);
     
+    List<String> anagramsOf(String sequence);
+    
 }
@@ -0,0 +1,344 @@
+/*
+ * File:    LetterIndex.java
+ * Package: main.dict.core.base
+ * Author:  Zachary Gill
+ */
+
+package main.dict.core.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+public class LetterIndex {
+    
+    //Constants
+    
+    private static final long[] EMPTY = new long[0];
+    
+    
+    //Fields
+    
+    protected final List<String> words;
+    
+    protected final int stride;
+    
+    protected final char[] letters;
+    
+    protected final int[] letterIds;
+    
+    protected final int maxLength;
+    
+    protected final long[] all;
+    
+    protected final long[][] lengths;
+    
+    protected final long[][] letterAt;
+    
+    protected final long[][][] letterCount;
+    
+    
+    //Constructors
+    
+    public LetterIndex(List<String> words) {
+        this.words = words;
+        this.stride = (words.size() + (Long.SIZE - 1)) >>> 6;
+        
+        int maxChar = 0;
+        int longest = 0;
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                maxChar = Math.max(maxChar, word.charAt(i));
+            }
+            longest = Math.max(longest, word.length());
+        }
+        this.maxLength = longest;
+        
+        this.letterIds = new int[maxChar + 1];
+        Arrays.fill(letterIds, -1);
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                letterIds[word.charAt(i)] = 0;
+            }
+        }
+        int letterTotal = 0;
+        for (int c = 0; c <= maxChar; c++) {
+            if (letterIds[c] == 0) {
+                letterIds[c] = letterTotal++;
+            } else {
+                letterIds[c] = -1;
+            }
+        }
+        this.letters = new char[letterTotal];
+        for (int c = 0; c <= maxChar; c++) {
+            if (letterIds[c] >= 0) {
+                letters[letterIds[c]] = (char) c;
+            }
+        }
+        
+        this.all = new long[stride];
+        this.lengths = new long[maxLength + 1][];
+        this.letterAt = new long[maxLength * letters.length][];
+        this.letterCount = new long[letters.length][][];
+        
+        final int[] counts = new int[letters.length];
+        for (int id = 0; id < words.size(); id++) {
+            final String word = words.get(id);
+            final int slot = id >>> 6;
+            final long bit = 1L << id;
+            
+            all[slot] |= bit;
+            bitsetOf(lengths, word.length())[slot] |= bit;
+            for (int i = 0; i < word.length(); i++) {
+                final int letter = letterIds[word.charAt(i)];
+                bitsetOf(letterAt, ((i * letters.length) + letter))[slot] |= bit;
+                counts[letter]++;
+            }
+            
+            for (int i = 0; i < word.length(); i++) {
+                final int letter = letterIds[word.charAt(i)];
+                if (counts[letter] > 0) {
+                    if ((letterCount[letter] == null) || (letterCount[letter].length < counts[letter])) {
+                        letterCount[letter] = (letterCount[letter] == null) ? new long[counts[letter]][] :
+                                              Arrays.copyOf(letterCount[letter], counts[letter]);
+                    }
+                    for (int count = 0; count < counts[letter]; count++) {
+                        bitsetOf(letterCount[letter], count)[slot] |= bit;
+                    }
+                    counts[letter] = 0;
+                }
+            }
+        }
+    }
+    
+    
+    //Methods
+    
+    private long[] bitsetOf(long[][] bitsets, int index) {
+        if (bitsets[index] == null) {
+            bitsets[index] = new long[stride];
+        }
+        return bitsets[index];
+    }
+    
+    private int letterId(char letter) {
+        return (letter < letterIds.length) ? letterIds[letter] : -1;
+    }
+    
+    public Query query() {
+        return new Query();
+    }
+    
+    public long[] all() {
+        return all;
+    }
+    
+    public long[] wordsOfLength(int length) {
+        return ((length < 0) || (length > maxLength)) ? EMPTY : orEmpty(lengths[length]);
+    }
+    
+    public long[] wordsWithLetterAt(int position, char letter) {
+        final int id = letterId(letter);
+        return ((id < 0) || (position < 0) || (position >= maxLength)) ? EMPTY :
+               orEmpty(letterAt[(position * letters.length) + id]);
+    }
+    
+    public long[] wordsWithAtLeast(char letter, int count) {
+        if (count <= 0) {
+            return all;
+        }
+        final int id = letterId(letter);
+        return ((id < 0) || (letterCount[id] == null) || (count > letterCount[id].length)) ? EMPTY :
+               orEmpty(letterCount[id][count - 1]);
+    }
+    
+    public long[] wordsThatContain(String search) {
+        if (search.isEmpty()) {
+            return all.clone();
+        }
+        
+        final int[] counts = new int[letters.length];
+        for (int i = 0; i < search.length(); i++) {
+            final int id = letterId(search.charAt(i));
+            if (id < 0) {
+                return new long[stride];
+            }
+            counts[id]++;
+        }
+        
+        final Query query = query();
+        for (int id = 0; id < letters.length; id++) {
+            if (counts[id] > 0) {
+                query.contains(letters[id], counts[id]);
+            }
+        }
+        
+        //letter counts are exact for a single letter, longer searches are verified against the candidates
+        return (search.length() == 1) ? query.bits() : query.retain(e -> e.contains(search)).bits();
+    }
+    
+    public long[] wordsThatStartWith(String search) {
+        final Query query = query();
+        for (int i = 0; i < search.length(); i++) {
+            query.letterAt(i, search.charAt(i));
+        }
+        return query.bits();
+    }
+    
+    public long[] wordsThatEndWith(String search) {
+        final long[] result = new long[stride];
+        for (int length = search.length(); length <= maxLength; length++) {
+            final Query query = query().length(length);
+            for (int i = 0; i < search.length(); i++) {
+                query.letterAt((length - search.length() + i), search.charAt(i));
+            }
+            or(result, query.bits());
+        }
+        return result;
+    }
+    
+    public List<String> toWords(long[] bitset) {
+        final List<String> result = new ArrayList<>(count(bitset));
+        for (int slot = 0; slot < bitset.length; slot++) {
+            long bits = bitset[slot];
+            while (bits != 0) {
+                result.add(words.get((slot << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= (bits - 1);
+            }
+        }
+        return result;
+    }
+    
+    
+    //Getters
+    
+    public List<String> getWords() {
+        return words;
+    }
+    
+    public int getMaxLength() {
+        return maxLength;
+    }
+    
+    
+    //Static Methods
+    
+    private static long[] orEmpty(long[] bitset) {
+        return (bitset == null) ? EMPTY : bitset;
+    }
+    
+    public static void and(long[] target, long[] bitset) {
+        final int shared = Math.min(target.length, bitset.length);
+        for (int i = 0; i < shared; i++) {
+            target[i] &= bitset[i];
+        }
+        Arrays.fill(target, shared, target.length, 0L);
+    }
+    
+    public static void andNot(long[] target, long[] bitset) {
+        final int shared = Math.min(target.length, bitset.length);
+        for (int i = 0; i < shared; i++) {
+            target[i] &= ~bitset[i];
+        }
+    }
+    
+    public static void or(long[] target, long[] bitset) {
+        final int shared = Math.min(target.length, bitset.length);
+        for (int i = 0; i < shared; i++) {
+            target[i] |= bitset[i];
+        }
+    }
+    
+    public static int count(long[] bitset) {
+        int count = 0;
+        for (long bits : bitset) {
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+    
+    
+    //Inner Classes
+    
+    public class Query {
+        
+        //Fields
+        
+        private final long[] bits = all.clone();
+        
+        
+        //Methods
+        
+        public Query length(int length) {
+            return and(wordsOfLength(length));
+        }
+        
+        public Query letterAt(int position, char letter) {
+            return and(wordsWithLetterAt(position, letter));
+        }
+        
+        public Query letterNotAt(int position, char letter) {
+            return andNot(wordsWithLetterAt(position, letter));
+        }
+        
+        public Query contains(char letter) {
+            return contains(letter, 1);
+        }
+        
+        public Query contains(char letter, int count) {
+            return and(wordsWithAtLeast(letter, count));
+        }
+        
+        public Query containsAtMost(char letter, int count) {
+            return andNot(wordsWithAtLeast(letter, (count + 1)));
+        }
+        
+        public Query excludes(char letter) {
+            return containsAtMost(letter, 0);
+        }
+        
+        public Query and(long[] bitset) {
+            LetterIndex.and(bits, bitset);
+            return this;
+        }
+        
+        public Query andNot(long[] bitset) {
+            LetterIndex.andNot(bits, bitset);
+            return this;
+        }
+        
+        public Query or(long[] bitset) {
+            LetterIndex.or(bits, bitset);
+            return this;
+        }
+        
+        public Query retain(Predicate<String> filter) {
+            for (int slot = 0; slot < bits.length; slot++) {
+                long remaining = bits[slot];
+                while (remaining != 0) {
+                    final int bit = Long.numberOfTrailingZeros(remaining);
+                    if (!filter.test(words.get((slot << 6) + bit))) {
+                        bits[slot] &= ~(1L << bit);
+                    }
+                    remaining &= (remaining - 1);
+                }
+            }
+            return this;
+        }
+        
+        public int count() {
+            return LetterIndex.count(bits);
+        }
+        
+        public List<String> words() {
+            return toWords(bits);
+        }
+        
+        public long[] bits() {
+            return bits;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,143 @@
+/*
+ * File:    PackedKeyCache.java
+ * Package: main.dict.core.base
+ * Author:  Zachary Gill
+ */
+
+package main.dict.core.base;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongFunction;
+
+public class PackedKeyCache<V> {
+    
+    //Constants
+    
+    public static final int DEFAULT_CAPACITY = 64;
+    
+    private static final int MAX_PROBES = 8;
+    
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+    
+    
+    //Fields
+    
+    private final AtomicReferenceArray<Entry<V>> table;
+    
+    private final int mask;
+    
+    private final int shift;
+    
+    
+    //Constructors
+    
+    public PackedKeyCache(int capacity) {
+        int size = MAX_PROBES;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(size);
+    }
+    
+    public PackedKeyCache() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    
+    //Methods
+    
+    public V get(long key) {
+        final int home = slotOf(key);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final Entry<V> entry = table.get((home + probe) & mask);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.key == key) {
+                return entry.value;
+            }
+        }
+        return null;
+    }
+    
+    public V computeIfAbsent(long key, LongFunction<V> loader) {
+        final V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        //loaders are pure, so a value computed concurrently by another thread is simply replaced
+        final V value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+    
+    public void put(long key, V value) {
+        final Entry<V> entry = new Entry<>(key, value);
+        final int home = slotOf(key);
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final int slot = (home + probe) & mask;
+            final Entry<V> current = table.get(slot);
+            if (((current == null) && table.compareAndSet(slot, null, entry)) ||
+                    ((current != null) && (current.key == key) && table.compareAndSet(slot, current, entry))) {
+                return;
+            }
+        }
+        
+        //the probe window is full, so evict the entry in the home slot
+        table.set(home, entry);
+    }
+    
+    public void clear() {
+        for (int slot = 0; slot < table.length(); slot++) {
+            table.set(slot, null);
+        }
+    }
+    
+    public int size() {
+        int size = 0;
+        for (int slot = 0; slot < table.length(); slot++) {
+            if (table.get(slot) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+    
+    private int slotOf(long key) {
+        return (int) ((key * MIX) >>> shift) & mask;
+    }
+    
+    
+    //Static Methods
+    
+    public static long pack(int high, int low) {
+        return ((long) high << Integer.SIZE) | (low & 0xFFFFFFFFL);
+    }
+    
+    
+    //Inner Classes
+    
+    private static class Entry<V> {
+        
+        //Fields
+        
+        private final long key;
+        
+        private final V value;
+        
+        
+        //Constructors
+        
+        private Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,232 @@
+/*
+ * File:    SequenceList.java
+ * Package: main.dict.core.base
+ * Author:  Zachary Gill
+ */
+
+package main.dict.core.base;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class SequenceList extends AbstractList<String> {
+    
+    //Enums
+    
+    public enum Window {
+        ANY,
+        START,
+        END
+    }
+    
+    
+    //Fields
+    
+    protected final char[] alphabet;
+    
+    protected final int sequenceLength;
+    
+    protected final long total;
+    
+    protected final long[] codes;
+    
+    protected final boolean complement;
+    
+    
+    //Constructors
+    
+    protected SequenceList(char[] alphabet, int sequenceLength, long[] codes, boolean complement) {
+        this.alphabet = alphabet;
+        this.sequenceLength = sequenceLength;
+        this.total = totalOf(alphabet.length, sequenceLength);
+        this.codes = codes;
+        this.complement = complement;
+        
+        if ((complement ? (total - codes.length) : codes.length) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many sequences of length " + sequenceLength + " to list");
+        }
+    }
+    
+    
+    //Methods
+    
+    @Override
+    public String get(int index) {
+        if ((index < 0) || (index >= size())) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return complement ? sequenceOf(complementCode(index)) : sequenceOf(codes[index]);
+    }
+    
+    @Override
+    public int size() {
+        return (int) (complement ? (total - codes.length) : codes.length);
+    }
+    
+    @Override
+    public Iterator<String> iterator() {
+        return complement ? new ComplementIterator() : super.iterator();
+    }
+    
+    private long complementCode(int index) {
+        //the number of listed codes below the result is the first position where codes[j] - j exceeds the index
+        int low = 0;
+        int high = codes.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if ((codes[mid] - mid) > index) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return (long) index + low;
+    }
+    
+    private String sequenceOf(long code) {
+        final char[] sequence = new char[sequenceLength];
+        for (int i = sequenceLength - 1; i >= 0; i--) {
+            sequence[i] = alphabet[(int) (code % alphabet.length)];
+            code /= alphabet.length;
+        }
+        return new String(sequence);
+    }
+    
+    
+    //Static Methods
+    
+    public static SequenceList all(List<String> alphabet, int sequenceLength) {
+        return new SequenceList(toChars(alphabet), sequenceLength, new long[0], true);
+    }
+    
+    public static SequenceList legal(List<String> alphabet, int sequenceLength, List<String> words, Window window) {
+        final char[] chars = toChars(alphabet);
+        return new SequenceList(chars, sequenceLength, sequenceCodes(chars, sequenceLength, words, window), false);
+    }
+    
+    public static SequenceList illegal(List<String> alphabet, int sequenceLength, List<String> words, Window window) {
+        final char[] chars = toChars(alphabet);
+        return new SequenceList(chars, sequenceLength, sequenceCodes(chars, sequenceLength, words, window), true);
+    }
+    
+    protected static long[] sequenceCodes(char[] alphabet, int sequenceLength, List<String> words, Window window) {
+        final long total = totalOf(alphabet.length, sequenceLength);
+        final long leading = total / Math.max(1, alphabet.length);
+        final int[] digits = digitsOf(alphabet);
+        
+        long[] codes = new long[1 << 10];
+        int size = 0;
+        for (String word : words) {
+            final int from = (window == Window.END) ? Math.max(0, (word.length() - sequenceLength)) : 0;
+            final int to = (window == Window.START) ? Math.min(word.length(), sequenceLength) : word.length();
+            if ((to - from) < sequenceLength) {
+                continue;
+            }
+            
+            long code = 0L;
+            int run = 0;
+            for (int i = from; i <= to; i++) {
+                if (run >= sequenceLength) {
+                    if (size == codes.length) {
+                        codes = Arrays.copyOf(codes, (size * 2));
+                    }
+                    codes[size++] = code;
+                }
+                if (i == to) {
+                    break;
+                }
+                
+                final char c = word.charAt(i);
+                final int digit = (c < digits.length) ? digits[c] : -1;
+                if (digit < 0) {
+                    code = 0L;
+                    run = 0;
+                } else {
+                    code = (sequenceLength == 0) ? 0L : (((code % leading) * alphabet.length) + digit);
+                    run++;
+                }
+            }
+        }
+        
+        Arrays.sort(codes, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if ((unique == 0) || (codes[i] != codes[unique - 1])) {
+                codes[unique++] = codes[i];
+            }
+        }
+        return Arrays.copyOf(codes, unique);
+    }
+    
+    private static long totalOf(int alphabetSize, int sequenceLength) {
+        long total = 1L;
+        for (int i = 0; i < sequenceLength; i++) {
+            if (total > (Long.MAX_VALUE / Math.max(1, alphabetSize))) {
+                throw new IllegalArgumentException("Too many sequences of length " + sequenceLength + " to enumerate");
+            }
+            total *= alphabetSize;
+        }
+        return total;
+    }
+    
+    private static char[] toChars(List<String> alphabet) {
+        final char[] chars = new char[alphabet.size()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = alphabet.get(i).charAt(0);
+        }
+        return chars;
+    }
+    
+    private static int[] digitsOf(char[] alphabet) {
+        int maxChar = 0;
+        for (char c : alphabet) {
+            maxChar = Math.max(maxChar, c);
+        }
+        final int[] digits = new int[maxChar + 1];
+        Arrays.fill(digits, -1);
+        for (int i = 0; i < alphabet.length; i++) {
+            digits[alphabet[i]] = i;
+        }
+        return digits;
+    }
+    
+    
+    //Inner Classes
+    
+    private class ComplementIterator implements Iterator<String> {
+        
+        //Fields
+        
+        private long code = 0L;
+        
+        private int position = 0;
+        
+        private int remaining = size();
+        
+        
+        //Methods
+        
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+        
+        @Override
+        public String next() {
+            if (remaining <= 0) {
+                throw new NoSuchElementException();
+            }
+            while ((position < codes.length) && (codes[position] == code)) {
+                position++;
+                code++;
+            }
+            remaining--;
+            return sequenceOf(code++);
+        }
+        
+    }
+    
+}
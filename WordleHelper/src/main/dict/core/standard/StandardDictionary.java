@@ -7,25 +7,25 @@
 package main.dict.core.standard;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import main.dict.core.base.BaseDictionary;
+import main.dict.core.base.PackedKeyCache;
+import main.dict.core.base.SequenceList;
 
 public abstract class StandardDictionary extends BaseDictionary implements StandardDictionaryInterface {
     
     //Fields
     
-    protected final Map<Integer, List<String>> wordsOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> wordsOfLength = new PackedKeyCache<>();
     
-    protected final Map<String, List<String>> illegalSequencesOfLengthInWordsOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> illegalSequencesOfLengthInWordsOfLength = new PackedKeyCache<>();
     
-    protected final Map<String, List<String>> illegalStartingSequencesOfLengthInWordsOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> illegalStartingSequencesOfLengthInWordsOfLength = new PackedKeyCache<>();
     
-    protected final Map<String, List<String>> illegalEndingSequencesOfLengthInWordsOfLength = new HashMap<>();
+    protected final PackedKeyCache<List<String>> illegalEndingSequencesOfLengthInWordsOfLength = new PackedKeyCache<>();
     
     
     //Methods
@@ -33,7 +33,7 @@ public abstract class StandardDictionary extends BaseDictionary implements Stand
     @Override
     public List<String> wordsOfLength(int wordLength) {
         return wordsOfLength.computeIfAbsent(wordLength,
-                i -> words().stream().filter(e -> (e.length() == i)).collect(Collectors.toList()));
+                key -> index().toWords(index().wordsOfLength(wordLength)));
     }
     
     @Override
@@ -127,9 +127,8 @@ public abstract class StandardDictionary extends BaseDictionary implements Stand
         }
         
         final List<String> wordsOfLength = wordsOfLength(wordLength);
-        final List<String> sequencesOfLength = sequencesOfLength(sequenceLength);
-        return illegalSequencesOfLengthInWordsOfLength.computeIfAbsent((wordLength + ":" + sequenceLength),
-                key -> sequencesOfLength.stream().filter(e -> wordsOfLength.stream().noneMatch(e2 -> e2.contains(e))).collect(Collectors.toList()));
+        return illegalSequencesOfLengthInWordsOfLength.computeIfAbsent(PackedKeyCache.pack(wordLength, sequenceLength),
+                key -> SequenceList.illegal(alphabet(), sequenceLength, wordsOfLength, SequenceList.Window.ANY));
     }
     
     @Override
@@ -139,9 +138,8 @@ public abstract class StandardDictionary extends BaseDictionary implements Stand
         }
         
         final List<String> wordsOfLength = wordsOfLength(wordLength);
-        final List<String> sequencesOfLength = sequencesOfLength(sequenceLength);
-        return illegalStartingSequencesOfLengthInWordsOfLength.computeIfAbsent((wordLength + ":" + sequenceLength),
-                key -> sequencesOfLength.stream().filter(e -> wordsOfLength.stream().noneMatch(e2 -> e2.startsWith(e))).collect(Collectors.toList()));
+        return illegalStartingSequencesOfLengthInWordsOfLength.computeIfAbsent(PackedKeyCache.pack(wordLength, sequenceLength),
+                key -> SequenceList.illegal(alphabet(), sequenceLength, wordsOfLength, SequenceList.Window.START));
     }
     
     @Override
@@ -151,14 +149,13 @@ public abstract class StandardDictionary extends BaseDictionary implements Stand
         }
         
         final List<String> wordsOfLength = wordsOfLength(wordLength);
-        final List<String> sequencesOfLength = sequencesOfLength(sequenceLength);
-        return illegalEndingSequencesOfLengthInWordsOfLength.computeIfAbsent((wordLength + ":" + sequenceLength),
-                key -> sequencesOfLength.stream().filter(e -> wordsOfLength.stream().noneMatch(e2 -> e2.endsWith(e))).collect(Collectors.toList()));
+        return illegalEndingSequencesOfLengthInWordsOfLength.computeIfAbsent(PackedKeyCache.pack(wordLength, sequenceLength),
+                key -> SequenceList.illegal(alphabet(), sequenceLength, wordsOfLength, SequenceList.Window.END));
     }
     
     @Override
     public List<String> unscrambleSequenceOfLength(int wordLength, String scrambledSequence, boolean partial) {
-        return unscrambleSequenceFromList(wordsOfLength(wordLength), scrambledSequence, partial);
+        return formatUnscrambled(anagramIndex().unscramble(scrambledSequence, partial, wordLength));
     }
     
     @Override
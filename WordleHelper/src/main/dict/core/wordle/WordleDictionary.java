@@ -10,6 +10,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import main.dict.core.base.BaseDictionary;
 
@@ -22,12 +23,15 @@ public abstract class WordleDictionary extends BaseDictionary implements WordleD
     
     @Override
     public List<String> findOptions(String pattern) {
-        final Pattern wordPattern = getRegexPattern(pattern);
-        final List<Character> unplacedLetters = getUnplacedLetters(pattern);
+        final WordleFeedback feedback = getFeedback(pattern);
+        final int[] ids = IntStream.range(0, words().size()).toArray();
+        final int size = feedback.filter(ids, ids.length, words());
         
-        return wordsThatMatch(wordPattern.pattern()).stream()
-                .filter(e -> unplacedLetters.stream().allMatch(l -> e.contains(String.valueOf(l))))
-                .collect(Collectors.toList());
+        return Arrays.stream(ids, 0, size).mapToObj(words()::get).collect(Collectors.toList());
+    }
+    
+    protected WordleFeedback getFeedback(String pattern) {
+        return new WordleFeedback(pattern, charset(), getWordLength());
     }
     
     protected Pattern getRegexPattern(String pattern) {
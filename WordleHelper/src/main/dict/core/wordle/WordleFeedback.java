@@ -0,0 +1,147 @@
+/*
+ * File:    WordleFeedback.java
+ * Package: main.dict.core.wordle
+ * Author:  Zachary Gill
+ */
+
+package main.dict.core.wordle;
+
+import java.util.List;
+
+public class WordleFeedback {
+    
+    //Constants
+    
+    public static final String UNKNOWN_TOKEN = "?";
+    
+    public static final char UNPLACED_PREFIX = '!';
+    
+    public static final char ABSENT_START = '[';
+    
+    public static final char ABSENT_END = ']';
+    
+    
+    //Fields
+    
+    protected final int wordLength;
+    
+    protected final char firstLetter;
+    
+    protected final long[] allowed;
+    
+    protected final long required;
+    
+    
+    //Constructors
+    
+    public WordleFeedback(String pattern, String charset, int wordLength) {
+        this.wordLength = wordLength;
+        this.firstLetter = charset.charAt(0);
+        final char lastLetter = charset.charAt(charset.length() - 1);
+        if ((lastLetter - firstLetter) >= Long.SIZE) {
+            throw new RuntimeException("Charset: '" + charset + "' is too large for Wordle feedback");
+        }
+        
+        final String[] tokens = pattern.trim().split("\\s+");
+        int tokenCount = tokens.length;
+        long absent = 0L;
+        final String last = tokens[tokens.length - 1];
+        if ((last.length() >= 2) && (last.charAt(0) == ABSENT_START) && (last.charAt(last.length() - 1) == ABSENT_END) &&
+                ((last.length() == 2) || isLetters(last, 1, (last.length() - 1), firstLetter, lastLetter))) {
+            absent = maskOf(last, 1, (last.length() - 1), firstLetter);
+            tokenCount--;
+        }
+        
+        if (tokenCount != wordLength) {
+            throw new RuntimeException("Pattern: '" + pattern + "' does not represent a word of length " + wordLength);
+        }
+        
+        long letterOptions = 0L;
+        for (int i = 0; i < charset.length(); i++) {
+            letterOptions |= (1L << (charset.charAt(i) - firstLetter));
+        }
+        letterOptions &= ~absent;
+        
+        this.allowed = new long[wordLength];
+        long unplaced = 0L;
+        for (int i = 0; i < wordLength; i++) {
+            final String token = tokens[i];
+            if (token.equals(UNKNOWN_TOKEN)) {
+                allowed[i] = letterOptions;
+                
+            } else if ((token.length() == 1) && isLetters(token, 0, 1, firstLetter, lastLetter)) {
+                allowed[i] = 1L << (token.charAt(0) - firstLetter);
+                
+            } else if ((token.length() > 1) && (token.charAt(0) == UNPLACED_PREFIX) &&
+                    isLetters(token, 1, token.length(), firstLetter, lastLetter)) {
+                final long letters = maskOf(token, 1, token.length(), firstLetter);
+                allowed[i] = letterOptions & ~letters;
+                unplaced |= letters;
+                
+            } else {
+                throw new RuntimeException("Invalid pattern: '" + pattern + "'");
+            }
+        }
+        this.required = unplaced;
+    }
+    
+    
+    //Methods
+    
+    public boolean accepts(String word) {
+        if (word.length() != wordLength) {
+            return false;
+        }
+        
+        long present = 0L;
+        for (int i = 0; i < wordLength; i++) {
+            final int letter = word.charAt(i) - firstLetter;
+            if ((letter < 0) || (letter >= Long.SIZE) || ((allowed[i] & (1L << letter)) == 0)) {
+                return false;
+            }
+            present |= (1L << letter);
+        }
+        return (present & required) == required;
+    }
+    
+    public int filter(int[] ids, int size, List<String> words) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (accepts(words.get(ids[i]))) {
+                ids[kept++] = ids[i];
+            }
+        }
+        return kept;
+    }
+    
+    
+    //Getters
+    
+    public int getWordLength() {
+        return wordLength;
+    }
+    
+    
+    //Static Methods
+    
+    private static boolean isLetters(String token, int from, int to, char firstLetter, char lastLetter) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if ((token.charAt(i) < firstLetter) || (token.charAt(i) > lastLetter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static long maskOf(String token, int from, int to, char firstLetter) {
+        long mask = 0L;
+        for (int i = from; i < to; i++) {
+            mask |= (1L << (token.charAt(i) - firstLetter));
+        }
+        return mask;
+    }
+    
+}
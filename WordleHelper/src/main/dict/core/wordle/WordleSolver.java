@@ -0,0 +1,241 @@
+/*
+ * File:    WordleSolver.java
+ * Package: main.dict.core.wordle
+ * Author:  Zachary Gill
+ */
+
+package main.dict.core.wordle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class WordleSolver {
+    
+    //Constants
+    
+    public static final int MAX_WORD_LENGTH = 5;
+    
+    public static final int ABSENT = 0;
+    
+    public static final int PRESENT = 1;
+    
+    public static final int CORRECT = 2;
+    
+    
+    //Fields
+    
+    protected final List<String> guesses;
+    
+    protected final List<String> solutions;
+    
+    protected final int wordLength;
+    
+    protected final int feedbackCount;
+    
+    protected final byte[] feedback;
+    
+    protected final int[] guessSolutions;
+    
+    
+    //Constructors
+    
+    public WordleSolver(List<String> guesses, List<String> solutions, int wordLength) {
+        if (wordLength > MAX_WORD_LENGTH) {
+            throw new RuntimeException("Feedback for words of length " + wordLength + " does not fit in a byte");
+        }
+        
+        this.guesses = guesses;
+        this.solutions = solutions;
+        this.wordLength = wordLength;
+        
+        int count = 1;
+        for (int i = 0; i < wordLength; i++) {
+            count *= 3;
+        }
+        this.feedbackCount = count;
+        
+        final Map<String, Integer> solutionIds = new HashMap<>();
+        for (int i = 0; i < solutions.size(); i++) {
+            solutionIds.putIfAbsent(solutions.get(i), i);
+        }
+        this.guessSolutions = guesses.stream().mapToInt(e -> solutionIds.getOrDefault(e, -1)).toArray();
+        
+        final char[] guessLetters = lettersOf(guesses, wordLength);
+        final char[] solutionLetters = lettersOf(solutions, wordLength);
+        this.feedback = new byte[guesses.size() * solutions.size()];
+        IntStream.range(0, guesses.size()).parallel().forEach(guess -> {
+            final int base = guess * solutions.size();
+            for (int solution = 0; solution < solutions.size(); solution++) {
+                feedback[base + solution] = (byte) computeFeedback(
+                        guessLetters, (guess * wordLength), solutionLetters, (solution * wordLength), wordLength);
+            }
+        });
+    }
+    
+    public WordleSolver(WordleDictionary guessDictionary, WordleDictionary solutionDictionary) {
+        this(loaded(guessDictionary).words(), loaded(solutionDictionary).words(), guessDictionary.getWordLength());
+    }
+    
+    
+    //Methods
+    
+    public int feedbackOf(int guess, int solution) {
+        return feedback[(guess * solutions.size()) + solution] & 0xFF;
+    }
+    
+    public int[] allCandidates() {
+        return IntStream.range(0, solutions.size()).toArray();
+    }
+    
+    public int filter(int[] candidates, int size, int guess, int observedFeedback) {
+        final int base = guess * solutions.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if ((feedback[base + candidates[i]] & 0xFF) == observedFeedback) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        return kept;
+    }
+    
+    public int filter(int[] candidates, int size, WordleFeedback constraints) {
+        return constraints.filter(candidates, size, solutions);
+    }
+    
+    public double entropy(int guess, int[] candidates, int size) {
+        return entropy(guess, candidates, size, new int[feedbackCount]);
+    }
+    
+    private double entropy(int guess, int[] candidates, int size, int[] histogram) {
+        final int base = guess * solutions.size();
+        for (int i = 0; i < size; i++) {
+            histogram[feedback[base + candidates[i]] & 0xFF]++;
+        }
+        
+        double entropy = 0.0;
+        for (int i = 0; i < feedbackCount; i++) {
+            if (histogram[i] > 0) {
+                final double probability = (double) histogram[i] / size;
+                entropy -= probability * Math.log(probability);
+                histogram[i] = 0;
+            }
+        }
+        return entropy / Math.log(2);
+    }
+    
+    public List<Map.Entry<String, Double>> bestGuesses(int[] candidates, int size, int count) {
+        final boolean[] isCandidate = new boolean[solutions.size()];
+        for (int i = 0; i < size; i++) {
+            isCandidate[candidates[i]] = true;
+        }
+        
+        final double[] scores = new double[guesses.size()];
+        IntStream.range(0, guesses.size()).parallel().forEach(guess ->
+                scores[guess] = entropy(guess, candidates, size, new int[feedbackCount]));
+        
+        //prefer guesses that could still be the solution when the expected information is equal
+        final List<Map.Entry<String, Double>> best = new ArrayList<>();
+        IntStream.range(0, guesses.size()).boxed()
+                .sorted((o1, o2) -> (scores[o1] != scores[o2]) ? Double.compare(scores[o2], scores[o1]) :
+                                    Boolean.compare(isPossible(o2, isCandidate), isPossible(o1, isCandidate)))
+                .limit(count)
+                .forEach(e -> best.add(Map.entry(guesses.get(e), scores[e])));
+        return best;
+    }
+    
+    private boolean isPossible(int guess, boolean[] isCandidate) {
+        return (guessSolutions[guess] >= 0) && isCandidate[guessSolutions[guess]];
+    }
+    
+    
+    //Getters
+    
+    public List<String> getGuesses() {
+        return guesses;
+    }
+    
+    public List<String> getSolutions() {
+        return solutions;
+    }
+    
+    public int getWordLength() {
+        return wordLength;
+    }
+    
+    
+    //Static Methods
+    
+    public static int computeFeedback(String guess, String solution) {
+        return computeFeedback(guess.toCharArray(), 0, solution.toCharArray(), 0, guess.length());
+    }
+    
+    private static int computeFeedback(char[] guesses, int guess, char[] solutions, int solution, int length) {
+        int correct = 0;
+        for (int i = 0; i < length; i++) {
+            if (guesses[guess + i] == solutions[solution + i]) {
+                correct |= (1 << i);
+            }
+        }
+        
+        //each solution letter can only mark one guess letter as present
+        int used = correct;
+        int code = 0;
+        for (int i = 0; i < length; i++) {
+            int mark = ABSENT;
+            if ((correct & (1 << i)) != 0) {
+                mark = CORRECT;
+            } else {
+                for (int j = 0; j < length; j++) {
+                    if ((solutions[solution + j] == guesses[guess + i]) && ((used & (1 << j)) == 0)) {
+                        used |= (1 << j);
+                        mark = PRESENT;
+                        break;
+                    }
+                }
+            }
+            code = (code * 3) + mark;
+        }
+        return code;
+    }
+    
+    public static int parseFeedback(String marks) {
+        int code = 0;
+        for (int i = 0; i < marks.length(); i++) {
+            switch (Character.toUpperCase(marks.charAt(i))) {
+                case 'G':
+                    code = (code * 3) + CORRECT;
+                    break;
+                case 'Y':
+                    code = (code * 3) + PRESENT;
+                    break;
+                case 'B':
+                case '-':
+                    code = (code * 3) + ABSENT;
+                    break;
+                default:
+                    throw new RuntimeException("Invalid feedback: '" + marks + "'");
+            }
+        }
+        return code;
+    }
+    
+    private static char[] lettersOf(List<String> words, int wordLength) {
+        final char[] letters = new char[words.size() * wordLength];
+        for (int i = 0; i < words.size(); i++) {
+            if (words.get(i).length() != wordLength) {
+                throw new RuntimeException("Word: '" + words.get(i) + "' is not of length " + wordLength);
+            }
+            words.get(i).getChars(0, wordLength, letters, (i * wordLength));
+        }
+        return letters;
+    }
+    
+    private static WordleDictionary loaded(WordleDictionary dictionary) {
+        dictionary.load();
+        return dictionary;
+    }
+    
+}